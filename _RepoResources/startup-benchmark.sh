@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Startup benchmark of the shaded JAR: the time from the JVM start to the first frame of the launcher and to the
+# first tick of a game, with and without the class data sharing archive. Prints the median of each.
+#
+# Build the JAR and the archive first with: mvn -P cds verify
+# The archive only works with the JVM that dumped it, so this runs the java of JAVA_HOME like Maven does,
+# or the java on the PATH if JAVA_HOME isn't set.
+# Usage: _RepoResources/startup-benchmark.sh [runs]
+# The launcher needs a display, on a headless machine run it under xvfb-run.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+runs="${1:-10}"
+jar="$(ls target/game-launcher-*.jar | grep -v original | head -n 1)"
+archive="${jar%.jar}.jsa"
+java="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+# Prints the median of one of the startup times in the lines of the runs.
+median() {
+    grep -o "$1=[0-9.]*" | cut -d= -f2 | sort -n \
+        | awk '{ v[NR] = $1 } END { print NR % 2 ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+# Runs the launcher $runs times with the given JVM options and prints the median startup times.
+measure() {
+    local label="$1"
+    shift
+    local lines=""
+    for _ in $(seq "$runs"); do
+        lines+="$("$java" "$@" -Dgamelauncher.startupBenchmark=true -jar "$jar" | grep '^startup ')"$'\n'
+    done
+    printf "%-12s first frame %8s ms   first tick %8s ms   (median of %d runs)\n" "$label" \
+        "$(median firstFrameMs <<< "$lines")" "$(median firstTickMs <<< "$lines")" "$runs"
+}
+
+measure "no CDS" -Xshare:off
+measure "default CDS"
+if [[ -f "$archive" ]]; then
+    measure "app CDS" -XX:SharedArchiveFile="$archive"
+else
+    echo "No archive at $archive, build it with: mvn -P cds verify" >&2
+fi
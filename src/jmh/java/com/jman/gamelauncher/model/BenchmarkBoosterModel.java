@@ -0,0 +1,30 @@
+package com.jman.gamelauncher.model;
+
+import java.awt.Color;
+
+/**
+ * A booster without cool down, effect or sound, so the benchmarks can fill the grid
+ * with active boosters right away.
+ *
+ * @author Joel Lansgren
+ */
+public final class BenchmarkBoosterModel extends BoosterModel {
+    @Override
+    long spawnCoolDown() {
+        return 0;
+    }
+
+    @Override
+    void loadSoundEffect() { }
+
+    @Override
+    void applyEffect() { }
+
+    @Override
+    void playSoundEffect() { }
+
+    @Override
+    public Color getBoosterColor() {
+        return Color.MAGENTA;
+    }
+}
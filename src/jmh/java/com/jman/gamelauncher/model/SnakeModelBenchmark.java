@@ -0,0 +1,83 @@
+package com.jman.gamelauncher.model;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.jman.gamelauncher.support.GridDelta;
+
+/**
+ * Measures the cost of a single game tick in {@link SnakeModel}, for different snake lengths and grid sizes.
+ *
+ * @author Joel Lansgren
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SnakeModelBenchmark {
+    @Param({"30", "60"})
+    private int gridSize;
+    @Param({"15", "200", "800"})
+    private int snakeLength;
+    private final Consumer<GridDelta> discardDelta = gridDelta -> { };
+    private SnakeModel snakeModel;
+    private SnakeSteering steering;
+    private int cell;
+
+    /**
+     * Builds a snake of the wanted length on an empty grid.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        snakeModel = new SnakeModel(speed -> { }, gridSize);
+        snakeModel.initializeSnakeData(discardDelta);
+        steering = new SnakeSteering(snakeModel, gridSize);
+        steering.growTo(snakeLength, discardDelta);
+    }
+
+    /**
+     * Releases the snake's scheduler.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        snakeModel.shutdownScheduler();
+    }
+
+    /**
+     * One full tick: moves the snake, checks for collisions and collects the changed cells.
+     */
+    @Benchmark
+    public void updateSnakeData() {
+        steering.steer();
+        snakeModel.updateSnakeData(discardDelta);
+    }
+
+    /**
+     * The two constant time lookups the collision check makes for the new head each tick,
+     * one in the snake's occupancy bitmap and one in the pool's booster index.
+     * @param blackhole keeps the results from being optimized away.
+     */
+    @Benchmark
+    public void checkCollision(final Blackhole blackhole) {
+        cell = (cell + 1) % (gridSize * gridSize);
+        blackhole.consume(snakeModel.isOccupied(cell));
+        blackhole.consume(snakeModel.getBoosterPool().boosterAt(cell));
+    }
+}
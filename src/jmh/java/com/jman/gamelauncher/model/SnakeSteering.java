@@ -0,0 +1,59 @@
+package com.jman.gamelauncher.model;
+
+import java.util.function.Consumer;
+
+import com.jman.gamelauncher.support.GridDelta;
+
+/**
+ * Steers a snake along a path that visits every cell of the grid before it returns to the start,
+ * so the benchmarks can run any number of ticks with a long snake without it ever biting itself.
+ *
+ * <p>The grid wraps around, so the snake moves right until it has covered a whole row, then one step
+ * down, and repeats. Each row is entered one cell to the left of where the previous one was, which
+ * makes the path a single loop through all cells. A snake that is shorter than the grid has cells
+ * therefore always finds its next cell free.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class SnakeSteering {
+    private final SnakeModel snakeModel;
+    private final int gridSize;
+    private int cellsInRow;
+
+    /**
+     * Constructs the steering for a freshly initialized snake, which lies in a row heading right.
+     * @param snakeModel the snake to steer.
+     * @param gridSize the number of cells along each side of the grid, at least the initial snake length.
+     */
+    public SnakeSteering(final SnakeModel snakeModel, final int gridSize) {
+        this.snakeModel = snakeModel;
+        this.gridSize = gridSize;
+        cellsInRow = snakeModel.getSnakeLength();
+    }
+
+    /**
+     * Sets the direction for the next tick.
+     */
+    public void steer() {
+        if (cellsInRow == gridSize) {
+            snakeModel.setDirection(Direction.DOWN);
+            cellsInRow = 1;
+        } else {
+            snakeModel.setDirection(Direction.RIGHT);
+            cellsInRow++;
+        }
+    }
+
+    /**
+     * Runs ticks with the grow flag set until the snake has reached the given length.
+     * @param length the wanted length, which must be less than the number of cells on the grid.
+     * @param updateGameGrid the callback that receives the delta of each tick.
+     */
+    public void growTo(final int length, final Consumer<GridDelta> updateGameGrid) {
+        while (snakeModel.getSnakeLength() < length) {
+            snakeModel.setGrow(true);
+            steer();
+            snakeModel.updateSnakeData(updateGameGrid);
+        }
+    }
+}
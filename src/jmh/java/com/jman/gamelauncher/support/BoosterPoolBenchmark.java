@@ -0,0 +1,124 @@
+package com.jman.gamelauncher.support;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.jman.gamelauncher.model.BenchmarkBoosterModel;
+import com.jman.gamelauncher.model.BoosterModel;
+import com.jman.gamelauncher.model.SnakeModel;
+import com.jman.gamelauncher.model.SnakeSteering;
+
+/**
+ * Measures the booster lookups the game makes every tick: finding the booster under the snake's head,
+ * and walking the active boosters to find the ones the view doesn't show yet.
+ *
+ * <p>The snake is only there to cover cells, so the boosters spawn on the same free cells as in a game.</p>
+ *
+ * @author Joel Lansgren
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BoosterPoolBenchmark {
+    @Param({"30", "60"})
+    private int gridSize;
+    @Param({"15", "200", "800"})
+    private int snakeLength;
+    @Param({"2", "32"})
+    private int boosterCount;
+    private final Consumer<GridDelta> discardDelta = gridDelta -> { };
+    private SnakeModel snakeModel;
+    private BoosterPool boosterPool;
+    private int checksum;
+    private final ObjIntConsumer<Color> sumBooster = (color, activeCell) -> checksum += activeCell + color.getRGB();
+    private int cell;
+
+    /**
+     * Builds the snake and moves its game clock on until all boosters are active on the grid.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final List<BoosterModel> boosters = new ArrayList<>();
+        for (int i = 0; i < boosterCount; i++) {
+            boosters.add(new BenchmarkBoosterModel());
+        }
+
+        final TimerWheel gameClock = new TimerWheel();
+        snakeModel = new SnakeModel(speed -> { }, gridSize, gameClock, new Random(1));
+        boosterPool = snakeModel.getBoosterPool();
+        boosterPool.initialize(boosters);
+        snakeModel.initializeSnakeData(discardDelta);
+        new SnakeSteering(snakeModel, gridSize).growTo(snakeLength, discardDelta);
+
+        boosterPool.setPaused(false);
+        for (int i = 0; i < boosterCount; i++) {
+            boosterPool.displayBooster();
+        }
+        while (countActiveBoosters() < boosterCount) {
+            gameClock.advance(AppConfig.BOOSTER_SPAWN_MIN_DELAY);
+        }
+    }
+
+    /**
+     * Releases the pool and the snake's scheduler.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        boosterPool.setPaused(true);
+        boosterPool.shutdown();
+        snakeModel.shutdownScheduler();
+    }
+
+    /**
+     * Helper method that counts the boosters currently active on the grid.
+     * @return the number of active boosters.
+     */
+    private int countActiveBoosters() {
+        final int[] count = new int[1];
+        boosterPool.forEachActiveBooster((color, activeCell) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Looks up the booster on one cell, walking the grid cell by cell between calls.
+     * @param blackhole keeps the result from being optimized away.
+     */
+    @Benchmark
+    public void boosterAt(final Blackhole blackhole) {
+        cell = (cell + 1) % (gridSize * gridSize);
+        blackhole.consume(boosterPool.boosterAt(cell));
+    }
+
+    /**
+     * Walks the color and cell of every active booster.
+     * @return a sum of what was walked, so the walk isn't optimized away.
+     */
+    @Benchmark
+    public int forEachActiveBooster() {
+        boosterPool.forEachActiveBooster(sumBooster);
+        return checksum;
+    }
+}
@@ -0,0 +1,84 @@
+package com.jman.gamelauncher.view;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jman.gamelauncher.model.SnakeModel;
+import com.jman.gamelauncher.model.SnakeSteering;
+import com.jman.gamelauncher.support.AppConfigSnake;
+import com.jman.gamelauncher.support.GridDelta;
+
+/**
+ * Measures how long the view takes to apply the changed cells to the grid, without a screen.
+ *
+ * <p>The deltas are recorded from a real snake up front, so only the view's work is measured:
+ * the delta of an ordinary tick, and a reset delta that repaints the whole snake like a restart does.</p>
+ *
+ * @author Joel Lansgren
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SnakeSinglePlayerViewBenchmark {
+    @Param({"30", "60"})
+    private int gridSize;
+    @Param({"15", "200", "800"})
+    private int snakeLength;
+    private final GridDelta tickDelta = new GridDelta();
+    private final GridDelta resetDelta = new GridDelta();
+    private SnakeSinglePlayerView view;
+
+    /**
+     * Builds the view and records the deltas from a snake of the wanted length.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Consumer<GridDelta> discardDelta = gridDelta -> { };
+        view = new SnakeSinglePlayerView(gridSize);
+
+        final SnakeModel snakeModel = new SnakeModel(speed -> { }, gridSize);
+        snakeModel.initializeSnakeData(discardDelta);
+        final SnakeSteering steering = new SnakeSteering(snakeModel, gridSize);
+        steering.growTo(snakeLength, discardDelta);
+
+        steering.steer();
+        snakeModel.updateSnakeData(tickDelta::addAll);
+
+        resetDelta.markReset();
+        snakeModel.forEachSnakeCell(cell -> resetDelta.add(cell, AppConfigSnake.COLOR_ACCENT));
+        view.updateGameGrid(resetDelta);
+        snakeModel.shutdownScheduler();
+    }
+
+    /**
+     * Applies the few cells that change during an ordinary tick.
+     */
+    @Benchmark
+    public void updateGameGridTick() {
+        view.updateGameGrid(tickDelta);
+    }
+
+    /**
+     * Empties the grid and repaints the whole snake.
+     */
+    @Benchmark
+    public void updateGameGridReset() {
+        view.updateGameGrid(resetDelta);
+    }
+}
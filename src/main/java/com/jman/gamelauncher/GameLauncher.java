@@ -1,6 +1,7 @@
 package com.jman.gamelauncher;
 
 import com.jman.gamelauncher.controller.LauncherController;
+import com.jman.gamelauncher.support.StartupProfiler;
 
 /**
  * The main starting point for the project.
@@ -19,6 +20,7 @@ public final class GameLauncher {
      * @param args command-line arguments (not used).
      */
     public static void main(final String... args) {
+        StartupProfiler.INSTANCE.mark("Launcher main");
         new LauncherController().initialize();
     }
 }
@@ -0,0 +1,164 @@
+package com.jman.gamelauncher.controller;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.prefs.Preferences;
+
+import javax.swing.SwingUtilities;
+
+import com.jman.gamelauncher.support.AppConfigLauncher;
+import com.jman.gamelauncher.support.DebugLogger;
+import com.jman.gamelauncher.support.ISoundEffectPlayer;
+
+/**
+ * The games of the launcher, found with a {@link ServiceLoader} of {@link IGameModule}.
+ *
+ * <p>The registry also does the work of the games that shouldn't happen on the EDT. While the launcher's menu
+ * is idle it preloads the assets the games hint at, and when a game is clicked its controller is created on
+ * the registry's background thread, so the EDT only has to build and show the game's views.</p>
+ *
+ * <p>The registry remembers the last game that was played, across sessions. That game is prewarmed: its
+ * controller is created in the background as soon as the launcher is idle, and its views are prepared on the
+ * EDT right after, so clicking it only attaches views that are already built. Only one game is kept prewarmed,
+ * and only the prewarming and the clicks touch it, all from the EDT.</p>
+ *
+ * @author Joel Lansgren
+ */
+final class GameRegistry {
+    // The modules by title, sorted the way they are listed in the launcher.
+    private final Map<String, IGameModule> modules = new TreeMap<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "GameRegistry-Worker");
+        thread.setDaemon(true); // A game that is still being prepared doesn't keep the application alive.
+        thread.setPriority(Thread.MIN_PRIORITY); // Never competes with the EDT.
+        return thread;
+    });
+    private final Preferences preferences = Preferences.userNodeForPackage(GameRegistry.class);
+    private IGameModule prewarmedModule;
+    private CompletableFuture<IGameController> prewarmedController;
+
+    /**
+     * Constructs a registry of the games on the class path.
+     */
+    GameRegistry() {
+        this(ServiceLoader.load(IGameModule.class));
+    }
+
+    /**
+     * Constructs a registry of the given games.
+     * @param gameModules the games.
+     * @throws IllegalArgumentException if two games have the same title.
+     */
+    GameRegistry(final Iterable<IGameModule> gameModules) {
+        for (final IGameModule module : gameModules) {
+            final IGameModule previous = modules.putIfAbsent(module.getTitle(), module);
+            if (previous != null) {
+                throw new IllegalArgumentException("Two games are titled " + module.getTitle());
+            }
+        }
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Gets the titles of all games, sorted alphabetically.
+     * @return a new list of the titles, which the caller may change.
+     */
+    List<String> getTitles() {
+        return new ArrayList<>(modules.keySet());
+    }
+
+    /**
+     * Gets a game.
+     * @param title the title of the game.
+     * @return the game, or null if there is no game with that title.
+     */
+    IGameModule getModule(final String title) {
+        return modules.get(title);
+    }
+
+    /**
+     * Gets the last game that was played, or the first game if none was played yet.
+     * @return the game, or null if there are no games.
+     */
+    IGameModule getLastPlayed() {
+        final IGameModule module = modules.get(preferences.get(AppConfigLauncher.LAST_PLAYED_GAME, ""));
+        if (module != null) {
+            return module;
+        }
+        return modules.values().stream().findFirst().orElse(null);
+    }
+
+    /*==============================
+    * Background work
+    ==============================*/
+
+    /**
+     * Preloads the assets of every game in the background, the games with the most to load first.
+     * Meant to be called once the launcher is shown and idle. Returns at once.
+     * @param soundEffectPlayer the player that loads the sounds.
+     */
+    void preloadAssets(final ISoundEffectPlayer soundEffectPlayer) {
+        modules.values().stream()
+            .sorted(Comparator.comparingInt((IGameModule module) -> module.getPreloadSounds().size()).reversed())
+            .forEach(module -> worker.execute(() -> module.getPreloadSounds().forEach(
+                soundEffectPlayer::queueSoundEffect
+            )));
+    }
+
+    /**
+     * Prewarms the last game that was played, or the first game if none was played yet, unless it's
+     * already prewarmed. Meant to be called on the EDT whenever the launcher's menu becomes idle. Returns at once.
+     */
+    void prewarmLastPlayed() {
+        final IGameModule module = getLastPlayed();
+        if (module == null || module == prewarmedModule) { return; }
+
+        prewarmedModule = module;
+        prewarmedController = submitController(module);
+        prewarmedController.thenAccept(controller -> SwingUtilities.invokeLater(controller::prepareViews));
+    }
+
+    /**
+     * Gets the controller of a new session of a game, and remembers the game as the last one played. The
+     * prewarmed controller is handed out if it's of that game, otherwise one is created on the background thread.
+     * A startup benchmark doesn't change the last game played, since it isn't the user playing.
+     * Called on the EDT.
+     * @param module the game.
+     * @return the controller, completed on the background thread. It fails if the game can't be created.
+     */
+    CompletableFuture<IGameController> createController(final IGameModule module) {
+        if (!AppConfigLauncher.STARTUP_BENCHMARK) {
+            preferences.put(AppConfigLauncher.LAST_PLAYED_GAME, module.getTitle());
+        }
+        if (module == prewarmedModule) {
+            final CompletableFuture<IGameController> controller = prewarmedController;
+            prewarmedModule = null;
+            prewarmedController = null;
+            return controller;
+        }
+        return submitController(module);
+    }
+
+    /**
+     * Helper method that creates the controller of a new session of a game on the registry's background thread.
+     * @param module the game.
+     * @return the controller, completed on the background thread. It fails if the game can't be created.
+     */
+    private CompletableFuture<IGameController> submitController(final IGameModule module) {
+        return CompletableFuture.supplyAsync(module::createController, worker).whenComplete((controller, e) -> {
+            if (e != null) {
+                DebugLogger.INSTANCE.logWarning("Couldn't create the game %s: %s", module.getTitle(), e);
+            }
+        });
+    }
+}
@@ -12,28 +12,36 @@ import javax.swing.JPanel;
  * Implementing classes must provide the game-specific logic for setting up the view,
  * processing user inputs, and managing the game's internal state.
  * </p>
+ * <p>
+ * Controllers are handed out by an {@link IGameModule}, which creates them on a background thread.
+ * So a controller builds its views in {@link #initialize}, which is called on the EDT, not in its constructor.
+ * </p>
  * @author Joel Lansgren
  */
-interface IGameController {
+public interface IGameController {
     /**
-     * Initializes the game view and sets up the necessary components for the game.
+     * Initializes the game view and sets up the necessary components for the game. Called on the EDT.
      * This method delivers the {@code closeGameClickListener} to the {@code initializeListeners} method and
-     * displays the game view in the launcher when it is set up. It should also signal that all sounds have
-     * been loaded (if used) before displaying the game. The implementation of this method will
+     * displays the game view in the launcher when it is set up. Sounds are loaded in the background,
+     * so it should never wait for them. The implementation of this method will
      * vary depending on the specific game.
      * @param closeGameClickListener A callback that is invoked when the quit button is clicked in the game view,
      * ensuring proper shutdown and cleanup. Should be forwarded to the {@link #initializeListeners(Runnable)} method.
-     * @param soundEffectsLoaded A string signaling to the {@link com.jman.gamelauncher.support.AudioManager} that all
-     * sounds have been loaded (ignore it if sounds aren't a thing).
      * @param displayGameInLauncher A callback that is executed once the game view is created and set up to display it
      * in the launcher view. It takes the main view panel or start panel of the current game as its argument.
      */
     void initialize(
         final Runnable closeGameClickListener,
-        final String soundEffectsLoaded,
         final Consumer<JPanel> displayGameInLauncher
     );
 
+    /**
+     * Builds the views of the game ahead of {@link #initialize}, so showing the game later only attaches them.
+     * Called on the EDT while the launcher is idle, if at all, so {@link #initialize} must build the views
+     * that weren't prepared. Does nothing by default.
+     */
+    default void prepareViews() { }
+
     /**
      * Initializes the event listeners for user interactions in the game.
      * It takes a closeGameClickListener callback that shall be attached to
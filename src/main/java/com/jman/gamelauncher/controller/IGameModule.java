@@ -0,0 +1,38 @@
+package com.jman.gamelauncher.controller;
+
+import java.util.List;
+
+/**
+ * A game that can be played in the launcher, as seen by the {@link GameRegistry}.
+ *
+ * <p>Games are found with a {@link java.util.ServiceLoader}, so adding a game only means implementing this
+ * interface and listing the implementation in
+ * {@code META-INF/services/com.jman.gamelauncher.controller.IGameModule}. The launcher never refers to a game
+ * directly. A module only declares the game's metadata and hands out its {@link IGameController}, and it must
+ * be cheap to construct since every module is instantiated at startup.</p>
+ *
+ * @author Joel Lansgren
+ */
+public interface IGameModule {
+    /**
+     * Gets the title of the game, shown on its button in the launcher. Titles must be unique.
+     * @return the title.
+     */
+    String getTitle();
+
+    /**
+     * Gets the sound effects the launcher may load in the background while its menu is idle,
+     * so they are ready when the game is started.
+     * @return the last part of the paths to the sound files.
+     */
+    default List<String> getPreloadSounds() {
+        return List.of();
+    }
+
+    /**
+     * Creates the controller of a new game session. It's called on a background thread, so it must not touch any
+     * Swing components, those are built when the controller is initialized on the EDT.
+     * @return the controller.
+     */
+    IGameController createController();
+}
@@ -2,7 +2,6 @@ package com.jman.gamelauncher.controller;
 
 import java.awt.Toolkit;
 import java.util.List;
-import java.util.function.Supplier;
 
 import javax.swing.SwingUtilities;
 
@@ -10,6 +9,7 @@ import com.jman.gamelauncher.model.LauncherModel;
 import com.jman.gamelauncher.support.AppConfig;
 import com.jman.gamelauncher.support.AppConfigLauncher;
 import com.jman.gamelauncher.support.AudioManager;
+import com.jman.gamelauncher.support.StartupProfiler;
 import com.jman.gamelauncher.support.TimedEventQueue;
 import com.jman.gamelauncher.view.LauncherAboutView;
 import com.jman.gamelauncher.view.LauncherComingSoonView;
@@ -28,48 +28,83 @@ import com.jman.gamelauncher.view.LauncherStartView;
  * @author Joel lansgren
  */
 public class LauncherController {
+    private final GameRegistry gameRegistry;
     private final LauncherModel launcherModel;
-    private final LauncherSideView sideView;
-    private final LauncherMainView mainView;
-    private final LauncherStartView startView;
-    private final LauncherAboutView aboutView;
-    private final LauncherComingSoonView comingSoonView;
-    private final LauncherFrame launcherFrame;
+    // The views are built on the EDT, the ones that aren't visible at startup only the first time they're shown.
+    private LauncherSideView sideView;
+    private LauncherMainView mainView;
+    private LauncherStartView startView;
+    private LauncherAboutView aboutView;
+    private LauncherComingSoonView comingSoonView;
+    private LauncherFrame launcherFrame;
 
     /**
-     * Constructs a new GameLauncherController with the specified model and views.
-     * Each view with their individual setup is performed on the EDT inside their constructors.
+     * Constructs a new GameLauncherController with the specified model.
+     * The model holds the games found in the {@link GameRegistry}, and the coming soon entry of the launcher.
+     * The views are built later, on the EDT, when the launcher is initialized.
      */
     public LauncherController() {
-        launcherModel = new LauncherModel();
-        sideView = new LauncherSideView();
-        mainView = new LauncherMainView();
-        startView = new LauncherStartView();
-        aboutView = new LauncherAboutView();
-        comingSoonView = new LauncherComingSoonView();
-        launcherFrame = new LauncherFrame(sideView.getMainPanel(), mainView.getMainPanel());
+        gameRegistry = StartupProfiler.INSTANCE.measure("Load game registry", GameRegistry::new);
+        launcherModel = StartupProfiler.INSTANCE.measure(
+            "Load launcher model", () -> {
+                final List<String> titles = gameRegistry.getTitles();
+                titles.add(AppConfigLauncher.COMING_SOON_TITLE);
+                return new LauncherModel(titles);
+            }
+        );
     }
 
     /**
      * This method initializes the game launcher.
      *
-     * <p>It does so by adding game buttons to the launcherSideView, setting up the launcherMainView
-     * views in its card layout and initializing listeners.
-     * It also displays the launcher and may include debugging logic if enabled.</p>
+     * <p>It does so by building the views that are visible at startup on the EDT, adding game buttons to the
+     * launcherSideView, setting up the start view in the launcherMainView card layout and initializing listeners.
+     * It also displays the launcher and may include debugging logic if enabled.
+     * Once the launcher is painted for the first time, the last game played is prewarmed and the assets of
+     * the games are preloaded in the background, so none of it delays the first frame.</p>
      */
     public void initialize() {
-        if (AppConfigLauncher.DEBUG_MODE) {
-            Toolkit.getDefaultToolkit().getSystemEventQueue().push(new TimedEventQueue());
-        }
+        // Always pushed, it records how long every EDT dispatch takes in the metrics registry.
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new TimedEventQueue());
 
         SwingUtilities.invokeLater(() -> {
+            buildViews();
             addGameBtnsToSideView();
-            mainView.setViews(startView.getMainPanel(), aboutView.getMainPanel(), comingSoonView.getMainPanel());
             initializeListeners();
-            launcherFrame.showFrame();
+            StartupProfiler.INSTANCE.mark("Show frame");
+            launcherFrame.showFrame(this::launcherPainted);
         });
+    }
+
+    /**
+     * Helper method that builds the views that are visible at startup, on the EDT. The about and coming soon
+     * views are built the first time they're shown instead.
+     */
+    private void buildViews() {
+        final StartupProfiler profiler = StartupProfiler.INSTANCE;
+        sideView = profiler.measure("Build LauncherSideView", LauncherSideView::new);
+        mainView = profiler.measure("Build LauncherMainView", LauncherMainView::new);
+        startView = profiler.measure("Build LauncherStartView", LauncherStartView::new);
+        mainView.setStartView(startView.getMainPanel());
+        launcherFrame = profiler.measure(
+            "Build LauncherFrame", () -> new LauncherFrame(sideView.getMainPanel(), mainView.getMainPanel())
+        );
+    }
 
-        AudioManager.INSTANCE.keepAudioAlive();
+    /**
+     * Called on the EDT once the launcher has been painted for the first time, which ends the startup.
+     * It then starts the background work that makes starting a game quick. In a startup benchmark it also
+     * starts the last game played right away, as if it had been clicked.
+     */
+    private void launcherPainted() {
+        StartupProfiler.INSTANCE.firstPaint();
+        gameRegistry.prewarmLastPlayed();
+        gameRegistry.preloadAssets(AudioManager.INSTANCE);
+
+        final IGameModule lastPlayed = gameRegistry.getLastPlayed();
+        if (AppConfigLauncher.STARTUP_BENCHMARK && lastPlayed != null) {
+            createGame(lastPlayed.getTitle());
+        }
     }
 
     /**
@@ -103,15 +138,31 @@ public class LauncherController {
     private void initializeListeners() {
         sideView.addExitBtnListener(this::exitLauncher);
 
-        startView.addAboutBtnListener(() -> {
-                aboutView.setBackBtn();
-                mainView.ShowAboutPanel();
-            }
-        );
+        startView.addAboutBtnListener(this::showAboutView);
 
         mainView.addBackBtnListener(mainView::ShowStartView);
     }
 
+    /** Shows the about view, and builds it if it's the first time. */
+    private void showAboutView() {
+        if (aboutView == null) {
+            aboutView = new LauncherAboutView();
+            mainView.addAboutView(aboutView.getMainPanel());
+        }
+        aboutView.setBackBtn();
+        mainView.ShowAboutPanel();
+    }
+
+    /** Shows the coming soon view, and builds it if it's the first time. */
+    private void showComingSoonView() {
+        if (comingSoonView == null) {
+            comingSoonView = new LauncherComingSoonView();
+            mainView.addComingSoonView(comingSoonView.getMainPanel());
+        }
+        comingSoonView.setBackBtn();
+        mainView.ShowComingSoonGamePanel();
+    }
+
     /**
      * Exits the game launcher application.
      * This method terminates the application by calling System.exit(0).
@@ -127,40 +178,35 @@ public class LauncherController {
     /**
      * Starts the game clicked in the games list in the launcher and sets it to active.
      *
-     * <p>Whenever new games are added they need a switch case in this method.</p>
+     * <p>New games don't need any changes here, they only need to be registered as an {@link IGameModule}.</p>
      * @param gameTitle the clicked games title.
      */
     private void createGame(final String gameTitle) {
-        switch (gameTitle) {
-            case AppConfig.SNAKE_TITLE -> {
-                instantiateGameController(
-                    SnakeController::new,
-                    this::closeGame
-                );
-            } default -> {
-                // By default, if the game isn't fully implemented yet
-                // a panel informing the user will show in its place.
-                comingSoonView.setBackBtn();
-                mainView.ShowComingSoonGamePanel();
-            }
+        final IGameModule module = gameRegistry.getModule(gameTitle);
+        if (module != null) {
+            instantiateGameController(module, this::closeGame);
+        } else {
+            // The coming soon entry isn't a game, a panel informing the user will show in its place.
+            showComingSoonView();
         }
     }
 
     /**
      * Instantiates a game controller and sets up necessary callbacks for integration with the launcher.
      *
-     * <p> This method creates a new game controller using the provided factory and configures callbacks
-     * for displaying the game in the launcher and handling its closure. The back button is shared
+     * <p> This method creates a new game controller on the registry's background thread and, once it's created,
+     * initializes it on the EDT with callbacks for displaying the game in the launcher and handling its closure.
+     * If the game can't be created the launcher is restored. The back button is shared
      * between the game views and the launcher view, so the listener is removed temporarily while
      * the game is active, allowing the game to handle its own back button behavior. Once the game
      * is closed, the listener will be restored for the launcher view.</p>
      *
-     * @param gameControllerFactory A functional interface used to create the game controller.
+     * @param module The game, which creates the game controller.
      * @param closeGameClickListener A callback that is invoked when the quit button is clicked in the game view,
      * ensuring proper shutdown and cleanup.
      */
     private void instantiateGameController(
-        final Supplier<IGameController> gameControllerFactory,
+        final IGameModule module,
         final Runnable closeGameClickListener
     ) {
         // Removes back button listener as the game view handles its own back button behavior
@@ -168,11 +214,16 @@ public class LauncherController {
         mainView.removeListenerFromBackBtn();
         sideView.hidePanel();
 
-        gameControllerFactory.get().initialize(
-            closeGameClickListener,
-            AppConfig.SOUND_EFFECTS_LOADED,
-            mainView::ShowSelectedGame
-        );
+        gameRegistry.createController(module).whenComplete((gameController, e) -> SwingUtilities.invokeLater(() -> {
+            if (gameController == null) {
+                closeGame();
+                return;
+            }
+            gameController.initialize(closeGameClickListener, mainView::ShowSelectedGame);
+            if (AppConfigLauncher.STARTUP_BENCHMARK) {
+                gameController.startGame(); // Skips the start menu, the benchmark ends at the first game tick.
+            }
+        }));
     }
 
     /**
@@ -191,5 +242,6 @@ public class LauncherController {
         sideView.showPanel();
 
         AudioManager.INSTANCE.shutdownAudio();
+        gameRegistry.prewarmLastPlayed(); // So starting the game again is as quick as the first time.
     }
 }
@@ -0,0 +1,171 @@
+package com.jman.gamelauncher.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import com.jman.gamelauncher.controller.SnakeHeadlessRunner.GameResult;
+import com.jman.gamelauncher.support.AppConfigSnake;
+
+/**
+ * Plays a large batch of independent headless snake games in parallel on a {@link ForkJoinPool}.
+ *
+ * <p>The batch is split in halves until the parts are small enough to run one after another on a
+ * single worker, and idle workers steal the parts that are left. Since every game owns its model,
+ * booster pool, game clock and random generator, the games never wait on each other and the
+ * results only depend on the seeds, not on how the work was split.</p>
+ *
+ * <p>Run it with {@code java -cp game-launcher.jar com.jman.gamelauncher.controller.SnakeBatchRunner
+ * [games] [maxTicks] [seed] [gridSize]} to play the same batch on one core, then on twice as many,
+ * and so on up to all cores, and print the tick rate and scaling of each run.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class SnakeBatchRunner {
+    private static final int DEFAULT_GAMES = 4000;
+    private static final int DEFAULT_MAX_TICKS = 20_000;
+    private static final int GAMES_PER_TASK = 8;
+    private final SnakeHeadlessRunner runner;
+
+    /**
+     * The outcome of a batch.
+     * @param parallelism the number of worker threads the batch ran on.
+     * @param results the result of every game, in seed order.
+     * @param elapsedNanos the wall time the batch took.
+     */
+    public record BatchResult(int parallelism, List<GameResult> results, long elapsedNanos) {
+        /**
+         * Counts the ticks of all games in the batch.
+         * @return the total number of ticks.
+         */
+        public long totalTicks() {
+            long ticks = 0;
+            for (final GameResult result : results) {
+                ticks += result.ticks();
+            }
+            return ticks;
+        }
+
+        /**
+         * Computes the aggregate tick rate of the batch.
+         * @return the ticks of all games per second of wall time.
+         */
+        public double ticksPerSecond() {
+            return totalTicks() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+
+    /**
+     * Constructs a batch runner for games on a grid of the given size.
+     * @param gridSize the number of cells along each side of the grid.
+     * @param maxTicks the number of ticks after which a game is stopped even if the snake is still alive.
+     */
+    public SnakeBatchRunner(final int gridSize, final int maxTicks) {
+        runner = new SnakeHeadlessRunner(gridSize, maxTicks);
+    }
+
+    /**
+     * Plays a batch of games with consecutive seeds on a new fork-join pool.
+     * @param games the number of games to play.
+     * @param firstSeed the seed of the first game.
+     * @param parallelism the number of worker threads.
+     * @return the outcome of the batch.
+     */
+    public BatchResult run(final int games, final long firstSeed, final int parallelism) {
+        final GameResult[] results = new GameResult[games];
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            final long start = System.nanoTime();
+            pool.invoke(new GameBatch(results, firstSeed, 0, games));
+            return new BatchResult(parallelism, List.of(results), System.nanoTime() - start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * A part of the batch that either plays its games or splits itself in two.
+     */
+    @SuppressWarnings("serial") // The tasks only live in the pool, they are never serialized.
+    private final class GameBatch extends RecursiveAction {
+        private final GameResult[] results;
+        private final long firstSeed;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructs a part of the batch.
+         * @param results the array the results of the whole batch are written to.
+         * @param firstSeed the seed of the first game of the whole batch.
+         * @param from the index of the first game in this part.
+         * @param to the index after the last game in this part.
+         */
+        private GameBatch(final GameResult[] results, final long firstSeed, final int from, final int to) {
+            this.results = results;
+            this.firstSeed = firstSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    results[i] = runner.runGame(firstSeed + i);
+                }
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                new GameBatch(results, firstSeed, from, middle),
+                new GameBatch(results, firstSeed, middle, to)
+            );
+        }
+    }
+
+    /*==============================
+    * Entry point
+    ==============================*/
+
+    /**
+     * Plays the same batch with a growing number of workers and prints the tick rate and scaling of each run.
+     * @param args optionally the number of games, the tick limit per game, the first seed and the grid size.
+     */
+    public static void main(final String[] args) {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        final int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_TICKS;
+        final long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        final int gridSize = args.length > 3 ? Integer.parseInt(args[3]) : AppConfigSnake.CELL_COUNT;
+        final int cores = Runtime.getRuntime().availableProcessors();
+        final SnakeBatchRunner batchRunner = new SnakeBatchRunner(gridSize, maxTicks);
+
+        final List<Integer> parallelisms = new ArrayList<>();
+        for (int parallelism = 1; parallelism < cores; parallelism *= 2) {
+            parallelisms.add(parallelism);
+        }
+        parallelisms.add(cores);
+
+        batchRunner.run(Math.min(games, cores * GAMES_PER_TASK), seed, cores); // Warms up the JIT.
+
+        System.out.printf("%d games from seed %d on %d cores%n", games, seed, cores);
+        System.out.printf("%8s %14s %9s %11s%n", "threads", "ticks/s", "speedup", "efficiency");
+
+        double singleCoreRate = 0;
+        for (final int parallelism : parallelisms) {
+            final BatchResult result = batchRunner.run(games, seed, parallelism);
+            if (parallelism == 1) {
+                singleCoreRate = result.ticksPerSecond();
+            }
+
+            final double speedup = result.ticksPerSecond() / singleCoreRate;
+            System.out.printf(
+                "%8d %14.0f %8.2fx %10.0f%%%n",
+                parallelism, result.ticksPerSecond(), speedup, 100 * speedup / parallelism
+            );
+        }
+    }
+}
@@ -1,19 +1,31 @@
 package com.jman.gamelauncher.controller;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Random;
 import java.util.function.Consumer;
 
 import javax.swing.JPanel;
-import javax.swing.Timer;
+import javax.swing.SwingUtilities;
 
 import com.jman.gamelauncher.model.Direction;
 import com.jman.gamelauncher.model.SnakeCherryBoosterModel;
+import com.jman.gamelauncher.model.SnakeInputLog;
 import com.jman.gamelauncher.model.SnakeModel;
 import com.jman.gamelauncher.model.SnakeSpeedBoosterModel;
-import com.jman.gamelauncher.support.AppConfig;
+import com.jman.gamelauncher.support.AppConfigLauncher;
 import com.jman.gamelauncher.support.AppConfigSnake;
-import com.jman.gamelauncher.support.AudioManager;
 import com.jman.gamelauncher.support.BoosterPool;
+import com.jman.gamelauncher.support.DebugLogger;
+import com.jman.gamelauncher.support.GameLoop;
+import com.jman.gamelauncher.support.GridDelta;
+import com.jman.gamelauncher.support.LatencyHistogram;
+import com.jman.gamelauncher.support.MetricsRegistry;
+import com.jman.gamelauncher.support.TimerWheel;
 import com.jman.gamelauncher.view.SnakeHowToView;
 import com.jman.gamelauncher.view.SnakeSinglePlayerView;
 import com.jman.gamelauncher.view.SnakeStartMenuView;
@@ -37,28 +49,38 @@ import com.jman.gamelauncher.view.SnakeMainView;
  * @author Joel Lansgren
  */
 class SnakeController implements IGameController {
-    // MVC components
-    private final SnakeMainView snakeView;
-    private final SnakeStartMenuView startMenuView;
-    private final SnakeSinglePlayerView singlePlayerView;
-    private final SnakeHowToView howToView;
+    // MVC components, the views are built on the EDT when they are prepared or the game is initialized.
+    private SnakeMainView snakeView;
+    private SnakeStartMenuView startMenuView;
+    private SnakeSinglePlayerView singlePlayerView;
+    private SnakeHowToView howToView;
     private final SnakeModel snakeModel;
+    private final BoosterPool boosterPool;
+    // The booster timers run on game time, which only moves with the ticks, so a seeded game can be replayed
+    private final TimerWheel gameClock = new TimerWheel();
+    private SnakeInputLog inputLog;
+    // Cached callback so the per-tick path through updateGameGrid doesn't allocate new lambdas
+    private final Consumer<GridDelta> updateGameGrid = this::updateGameGrid;
+    // Changes made by the game loop thread that are waiting to be rendered on the EDT
+    private final GridDelta pendingGridDelta = new GridDelta();
+    private final GridDelta frameGridDelta = new GridDelta();
+    // Looked up once, so the tick and render paths only record.
+    private final LatencyHistogram tickTimes = MetricsRegistry.INSTANCE.histogram(MetricsRegistry.SNAKE_TICK);
+    private final LatencyHistogram renderTimes = MetricsRegistry.INSTANCE.histogram(MetricsRegistry.SNAKE_RENDER);
 
     // Game loop variables
-    private Timer gameLoop;
-    private boolean gameOn;
+    private GameLoop gameLoop;
+    private volatile boolean gameOn;
 
     /**
-     * Constructs a SnakeController with the specified views, models and BoosterController.
+     * Constructs a SnakeController with the specified models and BoosterController.
      * It also initialize the BoosterPool with the list of boosters used in the game.
+     * It doesn't touch Swing, so it can be constructed on a background thread.
      */
     public SnakeController() {
-        snakeView = new SnakeMainView();
-        startMenuView = new SnakeStartMenuView();
-        singlePlayerView = new SnakeSinglePlayerView();
-        howToView = new SnakeHowToView();
-        snakeModel = new SnakeModel(this::updateTimerDelay);
-        BoosterPool.INSTANCE.initialize(List.of(
+        snakeModel = new SnakeModel(this::updateTimerDelay, AppConfigSnake.CELL_COUNT, gameClock, new Random());
+        boosterPool = snakeModel.getBoosterPool();
+        boosterPool.initialize(List.of(
             new SnakeCherryBoosterModel(snakeModel),
             new SnakeSpeedBoosterModel(snakeModel)
         ));
@@ -71,19 +93,16 @@ class SnakeController implements IGameController {
     /**
      * {@inheritDoc}
      *
-     * <p> In the {@link SnakeController}, this method initializes the game by
-     * setting views for the card layout, initializing the game grid in the
-     * view for the snake game, creating the game loop and initiating the game environment. </p>
+     * <p> In the {@link SnakeController}, this method initializes the game by building the views unless they
+     * were prepared, setting them for the card layout, creating the game loop and initiating the game
+     * environment. </p>
      */
     @Override
     public void initialize(
         final Runnable closeGameClickListener,
-        final String soundEffectsLoaded,
         final Consumer<JPanel> displayGameInLauncher
     ) {
-        // Sets the views for card layout
-        snakeView.setViews(startMenuView.getMainPanel(), singlePlayerView.getMainPanel(), howToView.getMainPanel());
-        singlePlayerView.initializeGridCell(); // Initializes the cells for the snakeGrid
+        prepareViews();
         initializeListeners(closeGameClickListener); // Registers listeners
         displayGameInLauncher.accept(snakeView.getMainPanel()); // Displays the Snake main view in the launcher
 
@@ -91,6 +110,18 @@ class SnakeController implements IGameController {
         initiateGameState();
     }
 
+    @Override
+    public void prepareViews() {
+        if (snakeView != null) { return; }
+
+        snakeView = new SnakeMainView();
+        startMenuView = new SnakeStartMenuView();
+        singlePlayerView = new SnakeSinglePlayerView();
+        howToView = new SnakeHowToView();
+        // Sets the views for card layout
+        snakeView.setViews(startMenuView.getMainPanel(), singlePlayerView.getMainPanel(), howToView.getMainPanel());
+    }
+
     @Override
     public void initializeListeners(final Runnable closeGameClickListener) {
         startMenuView.addStartBtnListener(() -> {
@@ -128,27 +159,66 @@ class SnakeController implements IGameController {
     }
 
     /**
-     * Creates the game loop that updates the game state at regular intervals.
-     * If we abort the game the game loop stops and we pause the booster mechanics
-     * and if it's game over we also show the game-over screen.
+     * Creates the game loop that updates the game state at a fixed timestep on its own thread,
+     * and renders the changes on the EDT.
      */
     private void createGameLoop() {
-        gameLoop = new Timer(AppConfigSnake.SNAKE_TICK_DELAY, e -> {
-            if (gameOn && !snakeModel.isGameOver()) {
-                snakeModel.updateSnakeData(this::updateGameGrid);
-            } else {
-                gameLoop.stop();
-                if (snakeModel.isGameOver()) {
-                    singlePlayerView.showGameOver(
-                        snakeModel.getSnake().size(),
-                        (AppConfigSnake.SECOND_IN_MS / gameLoop.getDelay())
+        gameLoop = new GameLoop(
+            "Snake-GameLoop", AppConfigSnake.SNAKE_TICK_DELAY, this::gameTick, this::renderFrame,
+            MetricsRegistry.INSTANCE.histogram(MetricsRegistry.SNAKE_TICK_JITTER)
+        );
+    }
+
+    /**
+     * A single tick of the game loop, run on the game loop thread.
+     * If we abort the game the game loop stops and we pause the booster mechanics
+     * and if it's game over we also show the game-over screen with the measured speed.
+     */
+    private void gameTick() {
+        if (gameOn && !snakeModel.isGameOver()) {
+            final long tickStart = System.nanoTime();
+            snakeModel.updateSnakeData(updateGameGrid);
+            tickTimes.recordSince(tickStart);
+            gameClock.advance(snakeModel.getSpeed());
+        } else {
+            gameLoop.stop();
+            if (snakeModel.isGameOver()) {
+                final int snakeLength = snakeModel.getSnakeLength();
+                final int snakeSpeed = (int) Math.round(gameLoop.getTicksPerSecond());
+                SwingUtilities.invokeLater(() -> singlePlayerView.showGameOver(snakeLength, snakeSpeed));
+
+                if (AppConfigLauncher.DEBUG_MODE) {
+                    DebugLogger.INSTANCE.logInfo(
+                        "Late ticks: %d, dropped ticks: %d", gameLoop.getLateTicks(), gameLoop.getDroppedTicks()
+                    );
+                    DebugLogger.INSTANCE.logInfo(
+                        "Input latency: mean %.1f ms, max %.1f ms",
+                        snakeModel.getMeanInputLatencyNanos() / 1e6, snakeModel.getMaxInputLatencyNanos() / 1e6
                     );
                 }
-                BoosterPool.INSTANCE.setPaused(true);
-                BoosterPool.INSTANCE.resetBoosterActivation();
-                snakeModel.cancelSpeedBoost();
+                saveInputLog();
+                MetricsRegistry.INSTANCE.dumpIfEnabled();
             }
-        });
+            boosterPool.setPaused(true);
+            boosterPool.resetBoosterActivation();
+            snakeModel.cancelSpeedBoost();
+        }
+    }
+
+    /**
+     * Writes the input log of the game that just ended to the replay directory, if one is configured.
+     * The file is named after the seed, so it can be handed straight to {@link SnakeReplay}.
+     */
+    private void saveInputLog() {
+        if (AppConfigSnake.REPLAY_DIRECTORY == null) { return; }
+
+        inputLog.finish(snakeModel.getTick(), snakeModel.getStateHash());
+        final Path file = Path.of(AppConfigSnake.REPLAY_DIRECTORY, "snake-" + inputLog.getSeed() + ".snkr");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            inputLog.writeTo(out);
+        } catch (final IOException e) {
+            DebugLogger.INSTANCE.logException(e);
+        }
     }
 
     /**
@@ -159,7 +229,10 @@ class SnakeController implements IGameController {
      * @param timerDelay The delay to be set on the gameLoop.
      */
     private void updateTimerDelay(final int timerDelay) {
-        gameLoop.setDelay(timerDelay);
+        final GameLoop loop = gameLoop;
+        if (loop != null) {
+            loop.setDelay(timerDelay);
+        }
     }
 
     @Override
@@ -173,32 +246,52 @@ class SnakeController implements IGameController {
      * {@inheritDoc}
      *
      * <p>This initialize the snake, activate the booster mechanics, ensures the
-     * single player view is properly set up in the card layout, starts the game loop
-     * and waits for the AudioManager to load all sounds (The boosters preloaded their
-     * sound effects when they were instantiated and the controller will wait until
-     * all sounds are properly loaded).</p>
+     * single player view is properly set up in the card layout and starts the game loop.
+     * It doesn't wait for the sounds, the boosters queued their sound effects when they were
+     * instantiated and they are silent until the AudioManager has loaded them.</p>
      */
     @Override
     public void startGame() {
-        snakeModel.initializeSnakeData(this::updateGameGrid);
-        BoosterPool.INSTANCE.setPaused(false);
+        gameLoop.stop(); // Wait for a loop that is still winding down, so it doesn't tick during the reset.
+        final long seed = System.nanoTime();
+        inputLog = new SnakeInputLog(seed, AppConfigSnake.CELL_COUNT);
+        snakeModel.setSeed(seed);
+        snakeModel.setDirectionRecorder(inputLog::record);
+        snakeModel.initializeSnakeData(updateGameGrid);
+        renderFrame(); // Paint the new snake right away instead of on the first tick.
+        boosterPool.setPaused(false);
         singlePlayerView.hideGameOver();
         snakeView.showSinglePlayerView();
         singlePlayerView.requestFocusInGameGrid();
 
         gameOn = true;
         gameLoop.start();
+    }
 
-        // Prepare the AudioManager for playback if not done already.
-        AudioManager.INSTANCE.queueSoundEffect(AppConfig.SOUND_EFFECTS_LOADED);
+    /**
+     * Method that is passed into the SnakeModel as a callback for updating the game grid.
+     * The changes of the tick are merged into the pending changes, which are rendered by the EDT
+     * in {@link #renderFrame()}.
+     * @param gridDelta the cells that changed during the tick.
+     */
+    private void updateGameGrid(final GridDelta gridDelta) {
+        synchronized (pendingGridDelta) {
+            pendingGridDelta.addAll(gridDelta);
+        }
     }
 
     /**
-     * Method that is passed into the SnakeModel as a callback for updating the game grid
-     * with the fresh game data in the view.
+     * Renders all changes the game loop has made since the last frame. Runs on the EDT.
      */
-    private void updateGameGrid() {
-        singlePlayerView.updateGameGrid(snakeModel.getSnake(), BoosterPool.INSTANCE.getActiveBoosterData());
+    private void renderFrame() {
+        synchronized (pendingGridDelta) {
+            frameGridDelta.clear();
+            frameGridDelta.addAll(pendingGridDelta);
+            pendingGridDelta.clear();
+        }
+        final long renderStart = System.nanoTime();
+        singlePlayerView.updateGameGrid(frameGridDelta);
+        renderTimes.recordSince(renderStart);
     }
 
     /*==========================
@@ -219,7 +312,7 @@ class SnakeController implements IGameController {
         }
         removeListeners();
 
-        BoosterPool.INSTANCE.shutdown();
+        boosterPool.shutdown();
         snakeModel.shutdownScheduler();
     }
 
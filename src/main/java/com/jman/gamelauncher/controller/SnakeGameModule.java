@@ -0,0 +1,28 @@
+package com.jman.gamelauncher.controller;
+
+import java.util.List;
+
+import com.jman.gamelauncher.support.AppConfig;
+import com.jman.gamelauncher.support.AppConfigSnake;
+
+/**
+ * The Snake game, as registered in the {@link GameRegistry}.
+ *
+ * @author Joel Lansgren
+ */
+public final class SnakeGameModule implements IGameModule {
+    @Override
+    public String getTitle() {
+        return AppConfig.SNAKE_TITLE;
+    }
+
+    @Override
+    public List<String> getPreloadSounds() {
+        return List.of(AppConfigSnake.SOUND_EFFECT_CHERRY, AppConfigSnake.SOUND_EFFECT_SPEED);
+    }
+
+    @Override
+    public IGameController createController() {
+        return new SnakeController();
+    }
+}
@@ -0,0 +1,238 @@
+package com.jman.gamelauncher.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import com.jman.gamelauncher.model.Direction;
+import com.jman.gamelauncher.model.SnakeCherryBoosterModel;
+import com.jman.gamelauncher.model.SnakeInputLog;
+import com.jman.gamelauncher.model.SnakeModel;
+import com.jman.gamelauncher.model.SnakeSpeedBoosterModel;
+import com.jman.gamelauncher.support.AppConfigSnake;
+import com.jman.gamelauncher.support.BoosterPool;
+import com.jman.gamelauncher.support.GridDelta;
+import com.jman.gamelauncher.support.ISoundEffectPlayer;
+import com.jman.gamelauncher.support.TimerWheel;
+
+/**
+ * Runs snake games without a window, audio or wall clock, as fast as the CPU allows.
+ *
+ * <p>Games share no state, so a runner can be used from several threads at once.
+ * Each game gets a {@link TimerWheel} that is advanced by the snake's tick delay after every
+ * tick, so boosters cool down and speed boosts wear off exactly as they would in real time, and a random
+ * generator seeded from the game's seed, so the same seed always plays out the same game. A simple bot
+ * steers the snake. This is meant for load testing, bots and replays, not for playing.</p>
+ *
+ * <p>Run it with {@code java -cp game-launcher.jar com.jman.gamelauncher.controller.SnakeHeadlessRunner
+ * [games] [maxTicks] [seed] [gridSize]}.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class SnakeHeadlessRunner {
+    private static final int DEFAULT_GAMES = 1000;
+    private static final int DEFAULT_MAX_TICKS = 100_000;
+    private static final int TURN_CHANCE = 8;
+    private final int gridSize;
+    private final int maxTicks;
+    private final Consumer<GridDelta> discardDelta = gridDelta -> { };
+
+    /**
+     * The outcome of one headless game.
+     * @param seed the seed the game was played with.
+     * @param ticks the number of ticks the game ran.
+     * @param snakeLength the length of the snake when the game ended.
+     * @param isGameOver whether the snake died, as opposed to the game hitting the tick limit.
+     */
+    public record GameResult(long seed, int ticks, int snakeLength, boolean isGameOver) { }
+
+    /**
+     * Constructs a runner for games on a grid of the given size.
+     * @param gridSize the number of cells along each side of the grid.
+     * @param maxTicks the number of ticks after which a game is stopped even if the snake is still alive.
+     */
+    public SnakeHeadlessRunner(final int gridSize, final int maxTicks) {
+        this.gridSize = gridSize;
+        this.maxTicks = maxTicks;
+    }
+
+    /*==============================
+    * Running
+    ==============================*/
+
+    /**
+     * Runs a number of games one after another, with consecutive seeds.
+     * @param games the number of games to run.
+     * @param firstSeed the seed of the first game.
+     * @return the results in the order the games were run.
+     */
+    public List<GameResult> runGames(final int games, final long firstSeed) {
+        final List<GameResult> results = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            results.add(runGame(firstSeed + i));
+        }
+        return results;
+    }
+
+    /**
+     * Runs one game until the snake dies or the tick limit is reached.
+     * @param seed the seed for the boosters and the bot.
+     * @return the outcome of the game.
+     */
+    public GameResult runGame(final long seed) {
+        return runGame(seed, null);
+    }
+
+    /**
+     * Runs one game like {@link #runGame(long)} and records it, so it can be played again with {@link SnakeReplay}.
+     * @param seed the seed for the boosters and the bot.
+     * @return the input log of the game.
+     */
+    public SnakeInputLog recordGame(final long seed) {
+        final SnakeInputLog inputLog = new SnakeInputLog(seed, gridSize);
+        runGame(seed, inputLog);
+        return inputLog;
+    }
+
+    /**
+     * Helper method that runs one game until the snake dies or the tick limit is reached.
+     * @param seed the seed for the boosters and the bot.
+     * @param inputLog the log to record the game in, or {@code null} to not record it.
+     * @return the outcome of the game.
+     */
+    private GameResult runGame(final long seed, final SnakeInputLog inputLog) {
+        final TimerWheel clock = new TimerWheel();
+        final Random botRandomizer = new Random(~seed); // Kept apart so the bot doesn't shift the booster draws.
+        final SnakeModel snakeModel = new SnakeModel(speed -> { }, gridSize, clock, new Random(seed));
+        final BoosterPool boosterPool = snakeModel.getBoosterPool();
+
+        boosterPool.initialize(List.of(
+            new SnakeCherryBoosterModel(snakeModel, ISoundEffectPlayer.SILENT),
+            new SnakeSpeedBoosterModel(snakeModel, ISoundEffectPlayer.SILENT)
+        ));
+
+        if (inputLog != null) {
+            snakeModel.setDirectionRecorder(inputLog::record);
+        }
+
+        try {
+            snakeModel.initializeSnakeData(discardDelta);
+            boosterPool.setPaused(false);
+
+            Direction direction = Direction.RIGHT;
+            int ticks = 0;
+            while (ticks < maxTicks && !snakeModel.isGameOver()) {
+                direction = chooseDirection(snakeModel, direction, botRandomizer);
+                snakeModel.setDirection(direction);
+                snakeModel.updateSnakeData(discardDelta);
+                ticks++;
+                clock.advance(snakeModel.getSpeed());
+            }
+
+            if (inputLog != null) {
+                inputLog.finish(snakeModel.getTick(), snakeModel.getStateHash());
+            }
+            return new GameResult(seed, ticks, snakeModel.getSnakeLength(), snakeModel.isGameOver());
+        } finally {
+            boosterPool.setPaused(true);
+            boosterPool.shutdown();
+            snakeModel.shutdownScheduler();
+        }
+    }
+
+    /*==============================
+    * Bot
+    ==============================*/
+
+    /**
+     * A simple bot that mostly keeps going straight, turns now and then, and avoids running into itself
+     * when there is a way out.
+     * @param snakeModel the snake to steer.
+     * @param direction the direction the snake is currently heading.
+     * @param randomizer the random generator of the bot.
+     * @return the direction for the next tick.
+     */
+    private Direction chooseDirection(final SnakeModel snakeModel, final Direction direction, final Random randomizer) {
+        final Direction[] turns = turnsOf(direction);
+        if (randomizer.nextBoolean()) {
+            final Direction first = turns[0];
+            turns[0] = turns[1];
+            turns[1] = first;
+        }
+
+        final int head = snakeModel.getHeadCell();
+        final boolean isTurning = randomizer.nextInt(TURN_CHANCE) == 0;
+        final Direction[] candidates = isTurning
+            ? new Direction[] {turns[0], turns[1], direction}
+            : new Direction[] {direction, turns[0], turns[1]};
+
+        for (final Direction candidate : candidates) {
+            if (!snakeModel.isOccupied(nextCell(head, candidate))) {
+                return candidate;
+            }
+        }
+        return direction; // Boxed in, the game is lost whichever way we go.
+    }
+
+    /**
+     * Helper method that returns the two directions that are a quarter turn from the given one.
+     * @param direction the current direction.
+     * @return the directions to the left and to the right of it.
+     */
+    private static Direction[] turnsOf(final Direction direction) {
+        return switch (direction) {
+            case UP, DOWN -> new Direction[] {Direction.LEFT, Direction.RIGHT};
+            case LEFT, RIGHT -> new Direction[] {Direction.UP, Direction.DOWN};
+        };
+    }
+
+    /**
+     * Helper method that finds the cell next to another one, wrapping around the edges like the snake does.
+     * @param cell the packed cell index (y * gridSize + x) to move from.
+     * @param direction the direction to move in.
+     * @return the packed cell index of the neighboring cell.
+     */
+    private int nextCell(final int cell, final Direction direction) {
+        final int x = cell % gridSize;
+        final int y = cell / gridSize;
+
+        return switch (direction) {
+            case RIGHT -> y * gridSize + (x + 1) % gridSize;
+            case LEFT -> y * gridSize + (x + gridSize - 1) % gridSize;
+            case DOWN -> ((y + 1) % gridSize) * gridSize + x;
+            case UP -> ((y + gridSize - 1) % gridSize) * gridSize + x;
+        };
+    }
+
+    /*==============================
+    * Entry point
+    ==============================*/
+
+    /**
+     * Runs a batch of headless games and prints how fast they ran.
+     * @param args optionally the number of games, the tick limit per game, the first seed and the grid size.
+     */
+    public static void main(final String[] args) {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        final int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_TICKS;
+        final long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        final int gridSize = args.length > 3 ? Integer.parseInt(args[3]) : AppConfigSnake.CELL_COUNT;
+
+        final long start = System.nanoTime();
+        final List<GameResult> results = new SnakeHeadlessRunner(gridSize, maxTicks).runGames(games, seed);
+        final double elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        long totalTicks = 0;
+        long totalLength = 0;
+        for (final GameResult result : results) {
+            totalTicks += result.ticks();
+            totalLength += result.snakeLength();
+        }
+
+        System.out.printf(
+            "%d games from seed %d: %d ticks in %.1f ms (%.1f ticks/ms), mean length %.1f%n",
+            games, seed, totalTicks, elapsedMillis, totalTicks / elapsedMillis, (double) totalLength / games
+        );
+    }
+}
@@ -0,0 +1,121 @@
+package com.jman.gamelauncher.controller;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import com.jman.gamelauncher.model.SnakeCherryBoosterModel;
+import com.jman.gamelauncher.model.SnakeInputLog;
+import com.jman.gamelauncher.model.SnakeModel;
+import com.jman.gamelauncher.model.SnakeSpeedBoosterModel;
+import com.jman.gamelauncher.support.BoosterPool;
+import com.jman.gamelauncher.support.GridDelta;
+import com.jman.gamelauncher.support.ISoundEffectPlayer;
+import com.jman.gamelauncher.support.TimerWheel;
+
+/**
+ * Plays a recorded game again from its {@link SnakeInputLog}, headless and as fast as the CPU allows.
+ *
+ * <p>The replay builds a fresh model on a {@link TimerWheel}, seeds it with the recorded seed
+ * and feeds it the recorded changes of direction right before the ticks they took effect on. When the
+ * game has run as many ticks as the original, the state hash is compared with the recorded one, so a
+ * mismatch shows that the tick code no longer plays out the same games, which makes it a cheap regression
+ * check for changes to the model.</p>
+ *
+ * <p>Run it with {@code java -cp game-launcher.jar com.jman.gamelauncher.controller.SnakeReplay
+ * <log files>}; games are recorded when the launcher is started with {@code -Dgamelauncher.replayDir=<dir>}.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class SnakeReplay {
+    private static final Consumer<GridDelta> DISCARD_DELTA = gridDelta -> { };
+
+    // Prevent instantiation
+    private SnakeReplay() { throw new IllegalStateException("Utility class"); }
+
+    /**
+     * The outcome of a replay.
+     * @param ticks the number of ticks the replay ran.
+     * @param stateHash the hash of the state the replay ended in.
+     * @param isMatch whether the replay ended on the recorded tick with the recorded state hash.
+     * @param elapsedNanos the wall time the replay took.
+     */
+    public record ReplayResult(int ticks, long stateHash, boolean isMatch, long elapsedNanos) { }
+
+    /**
+     * Replays a recorded game.
+     * @param log the input log of the game.
+     * @return the outcome of the replay.
+     */
+    public static ReplayResult replay(final SnakeInputLog log) {
+        final long start = System.nanoTime();
+        final TimerWheel clock = new TimerWheel();
+        final SnakeModel snakeModel = new SnakeModel(speed -> { }, log.getGridSize(), clock, new Random(log.getSeed()));
+        final BoosterPool boosterPool = snakeModel.getBoosterPool();
+
+        boosterPool.initialize(List.of(
+            new SnakeCherryBoosterModel(snakeModel, ISoundEffectPlayer.SILENT),
+            new SnakeSpeedBoosterModel(snakeModel, ISoundEffectPlayer.SILENT)
+        ));
+
+        try {
+            snakeModel.initializeSnakeData(DISCARD_DELTA);
+            boosterPool.setPaused(false);
+
+            int entry = 0;
+            while (snakeModel.getTick() < log.getFinalTick() && !snakeModel.isGameOver()) {
+                while (entry < log.size() && log.getTick(entry) <= snakeModel.getTick()) {
+                    snakeModel.setDirection(log.getDirection(entry++));
+                }
+                snakeModel.updateSnakeData(DISCARD_DELTA);
+                clock.advance(snakeModel.getSpeed());
+            }
+
+            final int ticks = snakeModel.getTick();
+            final long stateHash = snakeModel.getStateHash();
+            final boolean isMatch = ticks == log.getFinalTick() && stateHash == log.getFinalStateHash();
+            return new ReplayResult(ticks, stateHash, isMatch, System.nanoTime() - start);
+        } finally {
+            boosterPool.setPaused(true);
+            boosterPool.shutdown();
+            snakeModel.shutdownScheduler();
+        }
+    }
+
+    /*==============================
+    * Entry point
+    ==============================*/
+
+    /**
+     * Replays the given log files and prints whether each one ended up where the recorded game did.
+     * Exits with status 1 if any replay diverged.
+     * @param args the paths of the log files.
+     * @throws IOException if a log file can't be read.
+     */
+    public static void main(final String[] args) throws IOException {
+        boolean isAllMatching = true;
+        for (final String arg : args) {
+            final SnakeInputLog log;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(arg)))) {
+                log = SnakeInputLog.readFrom(in);
+            }
+
+            final ReplayResult result = replay(log);
+            isAllMatching &= result.isMatch();
+            System.out.printf(
+                "%s: %s after %d of %d ticks (%.1f ticks/ms)%n",
+                arg, result.isMatch() ? "match" : "MISMATCH", result.ticks(), log.getFinalTick(),
+                result.ticks() / (result.elapsedNanos() / 1_000_000.0)
+            );
+        }
+
+        if (!isAllMatching) {
+            System.exit(1);
+        }
+    }
+}
@@ -1,38 +1,56 @@
 package com.jman.gamelauncher.model;
 
 import java.awt.Color;
-import java.awt.Point;
-import java.util.function.Consumer;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+import com.jman.gamelauncher.support.IGameScheduler;
 
 /**
  * Represents an abstract booster in the Snake game.
- * A booster is a background thread that waits to be activated,
+ * A booster is a small state machine that is driven by the booster pool's shared scheduler,
  * applies an effect when consumed, and then returns itself to the booster pool.
  *
- * <p>The booster remains in a waiting state until activated. Once activated,
- * it waits to be consumed, applies its effect, plays a sound, and returns to the pool.</p>
+ * <p>The booster rests in the pool until activated. Once activated it cools down for a random
+ * time, then asks the pool for a free cell and becomes active on the grid there. Since the cell is
+ * picked when the booster appears, the snake can't have moved onto it in the meantime. When consumed
+ * it applies its effect, plays a sound and returns to the pool. The cool down is a task on the shared
+ * scheduler rather than a sleeping thread, so no monitor is ever held while waiting and any number of
+ * boosters can share one thread.</p>
+ *
+ * <p>The whole state of the booster, its stage, its cell and how many times it has been activated, is one
+ * atomic word, and every stage change is a single compare-and-set of that word. So a booster never takes a
+ * lock, the game can ask whether it's active and where without any synchronization, and when several threads
+ * race to change it, such as the snake consuming it while the game pauses, exactly one of them wins.
+ * A cool down that was called back can't act on a later activation, since the activation count has moved on.</p>
  *
  * <p>This class follows a template method pattern where concrete subclasses
- * define the booster-specific effect and sound in the {@link #run()}
- * method which serves as the template.</p>
+ * define the booster-specific cool down, effect and sound that {@link #consume(boolean)}
+ * and {@link #activate()} make use of.</p>
  *
  * @author Joel Lansgren
  */
-public abstract class BoosterModel extends Thread {
-    private final Point position = new Point();
-    private Consumer<BoosterModel> returnBooster;
-    private boolean isActive;
-    private boolean isPause;
-    private boolean running = true;
-
-    /**
-     * Constructs a new booster with the specified thread name and starts it immediately.
-     * @param name the name of the booster thread.
-     */
-    BoosterModel(final String name) {
-        super.setName(name);
-        super.start();
-    }
+public abstract class BoosterModel {
+    // The stages a booster goes through from the pool to the grid and back again, the low two bits of the state.
+    private static final int IDLE = 0;
+    private static final int COOLING = 1;
+    private static final int ACTIVE = 2;
+    private static final int CONSUMED = 3;
+    private static final long STAGE_MASK = 0b11;
+    // The cell + 1 in the next 30 bits, 0 while the booster has no cell.
+    private static final int CELL_SHIFT = 2;
+    private static final long CELL_MASK = (1L << 30) - 1;
+    // The number of activations in the high 32 bits.
+    private static final long ONE_ACTIVATION = 1L << 32;
+    private final AtomicLong state = new AtomicLong(IDLE);
+    private ObjIntConsumer<BoosterModel> returnBooster;
+    private ObjIntConsumer<BoosterModel> releaseCell;
+    private ToIntFunction<BoosterModel> placeBooster;
+    private IGameScheduler scheduler;
+    private volatile IGameScheduler.Task coolDownTask;
+    private Random randomizer = new Random();
 
     /*==============================
     * Getters
@@ -43,15 +61,33 @@ public abstract class BoosterModel extends Thread {
      * @return {@code true} if the booster is active, {@code false} otherwise.
      */
     public boolean isActive() {
-        return isActive;
+        return stageOf(state.get()) == ACTIVE;
     }
 
     /**
      * Gets the position of the booster on the game grid.
-     * @return the current position of the booster.
+     * @return the packed cell index (y * gridSize + x) of the booster, or -1 if it isn't on the grid.
+     */
+    public int getCell() {
+        return cellOf(state.get());
+    }
+
+    /**
+     * Gets the position of the booster if it's active, reading both from the same state, so the answer
+     * can't be torn by a booster that is consumed or placed at the same time.
+     * @return the packed cell index (y * gridSize + x) of the booster, or -1 if it isn't active.
+     */
+    public int getActiveCell() {
+        final long word = state.get();
+        return stageOf(word) == ACTIVE ? cellOf(word) : -1;
+    }
+
+    /**
+     * Gets the random generator subclasses should use for anything random about the booster.
+     * @return the random generator set by the booster pool.
      */
-    public Point getPosition() {
-        return new Point(position);
+    Random getRandomizer() {
+        return randomizer;
     }
 
     /*==============================
@@ -61,17 +97,57 @@ public abstract class BoosterModel extends Thread {
     /**
      * Sets the return mechanism for the booster. This allows the booster to
      * return itself to the booster pool after being consumed.
-     * @param returnBooster a {@link Consumer} that handles returning the booster to the pool.
+     * @param returnBooster an {@link ObjIntConsumer} that handles returning the booster to the pool, along with
+     * the packed cell index of the cell it leaves, or -1 if it had none.
      */
-    public void setReturnBoosterMethod(final Consumer<BoosterModel> returnBooster) {
+    public void setReturnBoosterMethod(final ObjIntConsumer<BoosterModel> returnBooster) {
         this.returnBooster = returnBooster;
     }
 
+    /**
+     * Sets the placement mechanism for the booster. This allows the booster to claim a free cell
+     * from the booster pool when its cool down is over.
+     * @param placeBooster a {@link ToIntFunction} that claims a free cell for the booster and returns
+     * its packed cell index, or -1 if the grid is full.
+     */
+    public void setPlaceBoosterMethod(final ToIntFunction<BoosterModel> placeBooster) {
+        this.placeBooster = placeBooster;
+    }
+
+    /**
+     * Sets the mechanism that gives back a cell the booster claimed but never appeared on,
+     * because it was called back while it was being placed.
+     * @param releaseCell an {@link ObjIntConsumer} that frees the given packed cell index claimed by the booster.
+     */
+    public void setReleaseCellMethod(final ObjIntConsumer<BoosterModel> releaseCell) {
+        this.releaseCell = releaseCell;
+    }
+
+    /**
+     * Sets the scheduler that runs the booster's cool down. It's shared by all boosters in the pool.
+     * @param scheduler the scheduler owned by the booster pool.
+     */
+    public void setScheduler(final IGameScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sets the random generator the booster draws its cool downs from, so a seeded game can be repeated.
+     * @param randomizer the random generator owned by the booster pool.
+     */
+    public void setRandomizer(final Random randomizer) {
+        this.randomizer = randomizer;
+    }
+
     /*==============================
     * Abstract methods
     ==============================*/
 
-    abstract void spawnCoolDown();
+    /**
+     * Decides how long the booster cools down after activation before it appears on the grid.
+     * @return the cool down in milliseconds.
+     */
+    abstract long spawnCoolDown();
 
     /**
      * Preloads any necessary sound effects for the booster.
@@ -95,90 +171,120 @@ public abstract class BoosterModel extends Thread {
     public abstract Color getBoosterColor();
 
     /*==============================
-    * Notify!
+    * State transitions
     ==============================*/
 
     /**
-     * Activates the booster by setting its position and waking up the thread.
-     * This allows it to enter the active state and wait to be consumed.
-     * @param newPosition the position in the grid where the booster should appear.
+     * Activates a resting booster by scheduling the end of its cool down,
+     * after which it appears on the grid and waits to be consumed.
+     */
+    public void activate() {
+        long word;
+        long cooling;
+        do {
+            word = state.get();
+            if (stageOf(word) != IDLE) { return; }
+            cooling = withStage(word + ONE_ACTIVATION, COOLING, -1); // The cell is claimed when the cool down is over.
+        } while (!state.compareAndSet(word, cooling));
+
+        final long activation = cooling;
+        coolDownTask = scheduler.schedule(() -> finishCoolDown(activation), spawnCoolDown());
+    }
+
+    /**
+     * Runs on the shared scheduler when the cool down is over. It claims a free cell and makes the
+     * booster active on the grid there, or returns the booster to the pool if the grid is full.
+     * @param activation the state the booster was put in when it was activated.
      */
-    synchronized public void activate(final Point newPosition) {
-        position.setLocation(newPosition);
-        notify(); // Wake up the thread to let it advance to the active wait state
+    private void finishCoolDown(final long activation) {
+        if (state.get() != activation) { return; } // Called back, or the cool down of an earlier activation.
+
+        final int cell = placeBooster.applyAsInt(this);
+        if (cell < 0) {
+            if (state.compareAndSet(activation, withStage(activation, IDLE, -1))) {
+                returnBooster.accept(this, -1);
+            }
+        } else if (!state.compareAndSet(activation, withStage(activation, ACTIVE, cell))) {
+            // Called back while being placed. The caller returns the booster, but only this knows the cell.
+            releaseCell.accept(this, cell);
+        }
     }
 
     /**
      * Consumes the booster, let it trigger its effect and return itself to the pool if the game is not paused.
      * This makes sure its available for reactivation by the booster controller.
-     * If the game is paused, the effect is skipped.
+     * If the game is paused, the effect is skipped and a booster that is still cooling down is
+     * called back before it appears.
      * @param isPause whether the game is currently paused.
+     * @return {@code true} if this call consumed the booster, {@code false} if it wasn't there to be consumed,
+     * such as when another caller got to it first.
      */
-    synchronized public void consume(final boolean isPause) {
-        this.isPause = isPause;
-        notify(); // Wake up the thread to let it do it's task
+    public boolean consume(final boolean isPause) {
+        long word;
+        do {
+            word = state.get();
+            final int stage = stageOf(word);
+            if (stage != ACTIVE && !(stage == COOLING && isPause)) { return false; }
+        } while (!state.compareAndSet(word, withStage(word, CONSUMED, cellOf(word))));
+
+        // Only the winner of the compare-and-set gets here, so the rest needs no synchronization.
+        if (stageOf(word) == COOLING) {
+            final IGameScheduler.Task task = coolDownTask;
+            if (task != null) {
+                task.cancel();
+            }
+        } else if (!isPause) {
+            applyEffect();
+            playSoundEffect();
+        }
+
+        state.set(withStage(word, IDLE, -1));
+        returnBooster.accept(this, cellOf(word));
+        return true;
     }
 
     /**
-     * Signals the thread to shut down gracefully.
-     * The booster will exit its loop and stop execution.
+     * Cancels any pending cool down and puts the booster to rest, without returning it to the pool.
+     * Used when the pool is shut down.
      */
-    synchronized public void shutdown() {
-        running = false;
-        isActive = !isActive;
-        notify(); // Wake up the thread to exit
+    public void shutdown() {
+        final IGameScheduler.Task task = coolDownTask;
+        if (task != null) {
+            task.cancel();
+        }
+        state.getAndUpdate(word -> withStage(word + ONE_ACTIVATION, IDLE, -1));
     }
 
     /*==============================
-    * Run!
+    * State word
     ==============================*/
 
     /**
-     * The main execution loop for the booster thread.
-     * The thread waits in an inactive state until activated, then waits
-     * to be consumed. When consumed, it applies its effect and returns
-     * itself to the pool before repeating the cycle.
-     */
-    @Override
-    public final void run() {
-        while (running) {
-            synchronized (this) {
-                while (!isActive && running) {
-                    try {
-                        wait(); // Wait until activated or shutdown
-                        if (running) {
-                            System.out.println("cool down");
-                            // TODO: since this is in a synced block and the thread goes to sleep
-                            // it makes it impossible for another thread to enter the synced methods
-                            // above to notify it to pause or shut down: I think thats why the game loop
-                            // bug arises when closing the game.
-                            spawnCoolDown();
-                            System.out.println("active");
-                        }
-                        isActive = true;
-                    } catch (final InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-
-                if (running) {
-                    while (isActive && running) {
-                        try {
-                            wait(); // Wait until consumed
-                            isActive = false;
-                        } catch (final InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        }
-                    }
-
-                    if (!isPause) {
-                        applyEffect();
-                        playSoundEffect();
-                    }
-
-                    returnBooster.accept(this);
-                }
-            }
-        }
+     * Helper method that reads the stage of a state.
+     * @param word the state.
+     * @return the stage, one of IDLE, COOLING, ACTIVE and CONSUMED.
+     */
+    private static int stageOf(final long word) {
+        return (int) (word & STAGE_MASK);
+    }
+
+    /**
+     * Helper method that reads the cell of a state.
+     * @param word the state.
+     * @return the packed cell index, or -1 if there is none.
+     */
+    private static int cellOf(final long word) {
+        return (int) ((word >>> CELL_SHIFT) & CELL_MASK) - 1;
+    }
+
+    /**
+     * Helper method that changes the stage and cell of a state, keeping its activation count.
+     * @param word the state.
+     * @param stage the new stage.
+     * @param cell the new packed cell index, or -1 for none.
+     * @return the new state.
+     */
+    private static long withStage(final long word, final int stage, final int cell) {
+        return (word & ~(CELL_MASK << CELL_SHIFT | STAGE_MASK)) | (long) (cell + 1) << CELL_SHIFT | stage;
     }
 }
@@ -7,9 +7,26 @@ package com.jman.gamelauncher.model;
  * This enum can be used to control movement logic in games where
  * entities navigate in a grid-based or free movement system.
  * </p>
+ * <p>
+ * The order of the constants is stored in the recorded games of {@link SnakeInputLog},
+ * so new directions must be added last.
+ * </p>
  *
  * @author Joel Lansgren
  */
 public enum Direction {
     UP, LEFT, RIGHT, DOWN;
+
+    /**
+     * Gets the direction that points the other way, the one a snake can't turn to.
+     * @return the opposite direction.
+     */
+    public Direction opposite() {
+        return switch (this) {
+            case UP -> DOWN;
+            case DOWN -> UP;
+            case LEFT -> RIGHT;
+            case RIGHT -> LEFT;
+        };
+    }
 }
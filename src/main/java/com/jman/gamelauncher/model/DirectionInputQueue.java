@@ -0,0 +1,116 @@
+package com.jman.gamelauncher.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded, lock-free queue of turns between the thread that reads the keyboard and the thread that
+ * ticks the game. Exactly one thread may offer and exactly one thread may poll.
+ *
+ * <p>The turns are checked when they are offered, against the last turn in the queue or the snake's
+ * direction if it's empty: a turn back into the snake or in the direction it's already going is dropped.
+ * That way every queued turn is valid when the tick takes it, and two quick turns within one tick
+ * are both taken, one per tick, instead of the second one overwriting the first.</p>
+ *
+ * <p>The queue also measures the input latency: the time from offering a turn until a tick takes it.</p>
+ *
+ * @author Joel Lansgren
+ */
+final class DirectionInputQueue {
+    private final Direction[] directions;
+    private final long[] offerNanos;
+    private final int mask;
+    // Only the polling thread writes the read index and only the offering thread the write index.
+    private final AtomicInteger readIndex = new AtomicInteger();
+    private final AtomicInteger writeIndex = new AtomicInteger();
+    private Direction lastDirection = Direction.RIGHT; // Only used by the offering thread.
+    // Written by the polling thread only, volatile so any thread can read the statistics.
+    private volatile long latencyCount;
+    private volatile long latencyTotalNanos;
+    private volatile long latencyMaxNanos;
+
+    /**
+     * Constructs an empty queue.
+     * @param capacity the number of turns the queue holds, a power of two.
+     */
+    DirectionInputQueue(final int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        directions = new Direction[capacity];
+        offerNanos = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Empties the queue, clears the latency statistics and sets the direction new turns are checked against.
+     * Only call it while no thread offers or polls, such as between two games.
+     * @param direction the direction the snake starts in.
+     */
+    void reset(final Direction direction) {
+        readIndex.set(writeIndex.get());
+        lastDirection = direction;
+        latencyCount = 0;
+        latencyTotalNanos = 0;
+        latencyMaxNanos = 0;
+    }
+
+    /**
+     * Queues a turn, unless it reverses or repeats the last queued turn or the queue is full.
+     * Called by the offering thread only.
+     * @param direction the turn to queue.
+     * @return whether the turn was queued.
+     */
+    boolean offer(final Direction direction) {
+        if (direction == lastDirection || direction == lastDirection.opposite()) { return false; }
+
+        final int write = writeIndex.get();
+        if (write - readIndex.get() == directions.length) { return false; } // Full, the player is way ahead.
+
+        directions[write & mask] = direction;
+        offerNanos[write & mask] = System.nanoTime();
+        writeIndex.lazySet(write + 1); // Publishes the slot to the polling thread.
+        lastDirection = direction;
+        return true;
+    }
+
+    /**
+     * Takes the oldest queued turn. Called by the polling thread only.
+     * @return the turn, or {@code null} if the queue is empty.
+     */
+    Direction poll() {
+        final int read = readIndex.get();
+        if (read == writeIndex.get()) { return null; }
+
+        final Direction direction = directions[read & mask];
+        final long latency = System.nanoTime() - offerNanos[read & mask];
+        readIndex.lazySet(read + 1); // Hands the slot back to the offering thread.
+
+        latencyCount++;
+        latencyTotalNanos += latency;
+        if (latency > latencyMaxNanos) {
+            latencyMaxNanos = latency;
+        }
+        return direction;
+    }
+
+    /*==============================
+    * Latency
+    ==============================*/
+
+    /**
+     * Gets the mean time from offering a turn until a tick took it.
+     * @return the mean input latency in nanoseconds, or 0 if no turn was taken yet.
+     */
+    long getMeanLatencyNanos() {
+        final long count = latencyCount;
+        return count == 0 ? 0 : latencyTotalNanos / count;
+    }
+
+    /**
+     * Gets the longest time from offering a turn until a tick took it.
+     * @return the max input latency in nanoseconds.
+     */
+    long getMaxLatencyNanos() {
+        return latencyMaxNanos;
+    }
+}
@@ -2,6 +2,7 @@ package com.jman.gamelauncher.model;
 
 import java.awt.Point;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 /**
  * This interface is implemented by the entity that are to be the target of boosters - which is the {@link SnakeModel}.
@@ -23,6 +24,19 @@ public interface ISnakeBoosterTarget {
      */
     List<Point> getSnake();
 
+    /**
+     * Walks the snake from the tail to the head without copying or boxing its body.
+     * Each cell is handed to the action as a packed index (y * gridSize + x).
+     * @param action the callback that receives each cell of the snake.
+     */
+    void forEachSnakeCell(IntConsumer action);
+
+    /**
+     * Returns the number of body parts in the snake, head included.
+     * @return the length of the snake
+     */
+    int getSnakeLength();
+
     /*=======================
     * CherryBooster
     =======================*/
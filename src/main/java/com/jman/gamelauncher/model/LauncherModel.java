@@ -5,8 +5,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import com.jman.gamelauncher.support.AppConfigLauncher;
-
 /**
  * The GameListModel class manages a collection of games and their metadata.
  * It provides methods to access the list of game titles, the active game,
@@ -26,9 +24,10 @@ public class LauncherModel {
 
     /**
      * Constructs a GameListModel and initializes the games map with default metadata for each game.
+     * @param titles the titles of the games found in the game registry.
      */
-    public LauncherModel() {
-        for (final String game : AppConfigLauncher.GAMES) {
+    public LauncherModel(final List<String> titles) {
+        for (final String game : titles) {
            games.put(game, new GameData(game));
         }
     }
@@ -0,0 +1,195 @@
+package com.jman.gamelauncher.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * The input log of one snake game: the seed it was played with and every change of direction the snake
+ * made, together with the tick it took effect on. Since a seeded game is fully decided by its seed and
+ * its inputs, this is all it takes to play the game again, tick for tick.
+ *
+ * <p>The log also keeps the tick the game ended on and the hash of the final state
+ * ({@link SnakeModel#getStateHash()}), so a replay can tell whether it ended up in exactly the same place.</p>
+ *
+ * <p>The binary format is small and fixed: a magic number and a version, the seed, the grid size,
+ * the number of entries, each entry as a tick and a direction, and finally the last tick and the state hash.
+ * All numbers are big-endian, as written by {@link DataOutputStream}.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class SnakeInputLog {
+    private static final int MAGIC = 0x534E4B52; // "SNKR"
+    private static final byte VERSION = 1;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private final long seed;
+    private final int gridSize;
+    private int[] ticks = new int[INITIAL_CAPACITY];
+    private byte[] directions = new byte[INITIAL_CAPACITY];
+    private int size;
+    private int finalTick;
+    private long finalStateHash;
+
+    /**
+     * Constructs an empty log for a game.
+     * @param seed the seed the game is played with.
+     * @param gridSize the number of cells along each side of the grid.
+     */
+    public SnakeInputLog(final long seed, final int gridSize) {
+        this.seed = seed;
+        this.gridSize = gridSize;
+    }
+
+    /*==============================
+    * Recording
+    ==============================*/
+
+    /**
+     * Appends a change of direction. Meant to be passed to {@link SnakeModel#setDirectionRecorder}.
+     * @param direction the direction the snake turned to.
+     * @param tick the tick the turn took effect on.
+     */
+    public void record(final Direction direction, final int tick) {
+        if (size == ticks.length) {
+            ticks = Arrays.copyOf(ticks, size * 2);
+            directions = Arrays.copyOf(directions, size * 2);
+        }
+        ticks[size] = tick;
+        directions[size] = (byte) direction.ordinal();
+        size++;
+    }
+
+    /**
+     * Closes the log with the state the game ended in.
+     * @param tick the number of ticks the game ran.
+     * @param stateHash the hash of the final state of the game.
+     */
+    public void finish(final int tick, final long stateHash) {
+        finalTick = tick;
+        finalStateHash = stateHash;
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Gets the seed the game was played with.
+     * @return the seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the size of the grid the game was played on.
+     * @return the number of cells along each side of the grid.
+     */
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Gets the number of recorded changes of direction.
+     * @return the number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the tick of an entry.
+     * @param index the index of the entry.
+     * @return the tick the change of direction took effect on.
+     */
+    public int getTick(final int index) {
+        return ticks[index];
+    }
+
+    /**
+     * Gets the direction of an entry.
+     * @param index the index of the entry.
+     * @return the direction the snake turned to.
+     */
+    public Direction getDirection(final int index) {
+        return DIRECTIONS[directions[index]];
+    }
+
+    /**
+     * Gets the number of ticks the game ran.
+     * @return the last tick of the game.
+     */
+    public int getFinalTick() {
+        return finalTick;
+    }
+
+    /**
+     * Gets the hash of the state the game ended in.
+     * @return the final state hash.
+     */
+    public long getFinalStateHash() {
+        return finalStateHash;
+    }
+
+    /*==============================
+    * Serialization
+    ==============================*/
+
+    /**
+     * Writes the log in its binary format. The stream is flushed but not closed.
+     * @param outputStream the stream to write to.
+     * @throws IOException if the stream can't be written to.
+     */
+    public void writeTo(final OutputStream outputStream) throws IOException {
+        final DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeInt(gridSize);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(ticks[i]);
+            out.writeByte(directions[i]);
+        }
+        out.writeInt(finalTick);
+        out.writeLong(finalStateHash);
+        out.flush();
+    }
+
+    /**
+     * Reads a log that was written by {@link #writeTo(OutputStream)}. The stream is not closed.
+     * @param inputStream the stream to read from.
+     * @return the log.
+     * @throws IOException if the stream can't be read or doesn't hold a log of a known version.
+     */
+    public static SnakeInputLog readFrom(final InputStream inputStream) throws IOException {
+        final DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a snake input log");
+        }
+        final byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snake input log version: " + version);
+        }
+
+        final SnakeInputLog log = new SnakeInputLog(in.readLong(), in.readInt());
+        final int entries = in.readInt();
+        if (entries < 0) {
+            throw new IOException("Corrupt snake input log, negative entry count: " + entries);
+        }
+        for (int i = 0; i < entries; i++) {
+            final int tick = in.readInt();
+            final int direction = in.readByte();
+            if (direction < 0 || direction >= DIRECTIONS.length) {
+                throw new IOException("Corrupt snake input log, unknown direction: " + direction);
+            }
+            log.record(DIRECTIONS[direction], tick);
+        }
+        log.finish(in.readInt(), in.readLong());
+        return log;
+    }
+}
@@ -1,19 +1,25 @@
 package com.jman.gamelauncher.model;
 
+import java.awt.Color;
 import java.awt.Point;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
 
 import com.jman.gamelauncher.support.AppConfigSnake;
 import com.jman.gamelauncher.support.BoosterPool;
+import com.jman.gamelauncher.support.GridDelta;
+import com.jman.gamelauncher.support.IGameScheduler;
+import com.jman.gamelauncher.support.TimerWheel;
 
 /**
  * The SnakeModel class represents the model for the Snake game and maintains the state of the game data.
@@ -21,22 +27,44 @@ import com.jman.gamelauncher.support.BoosterPool;
  * <p>This class implements the {@link ISnakeBoosterTarget} interface and mainly provides
  * methods to initialize, control, update the snake and check for collisions either with boosters
  * or itself. Other than that it provides methods to apply booster effects.</p>
+ *
+ * <p>Every model owns its own {@link BoosterPool}, scheduler and random generator, so games don't share
+ * any state and many of them can run at once.</p>
  * @author Joel Lansgren
  */
 public class SnakeModel implements ISnakeBoosterTarget {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
     private final Consumer<Integer> notifySpeedHasChanged;
     private final int initialLength = AppConfigSnake.INITIAL_LENGTH;
-    private final int gridSize = AppConfigSnake.CELL_COUNT;
-    private final Deque<Point> snake = new ArrayDeque<>();
+    private final int gridSize;
+    private final Object snakeLock = new Object();
+    // The body as a ring buffer of packed cell indices (y * gridSize + x), running from the tail to the head.
+    // One extra slot leaves room for the head that overlaps the body on the tick the game is lost.
+    private final int[] snake;
+    private int tailCursor;
+    private int snakeLength;
+    private final BitSet occupiedCells;
+    // The cells that changed during the last tick, handed to the view so it only repaints those.
+    private final GridDelta gridDelta = new GridDelta();
+    // The booster cells the view has been told about, used to find boosters that appeared or disappeared.
+    private final int[] shownBoosterCells;
+    private final Color[] shownBoosterColors;
+    private int shownBoosterCount;
+    // Kept in a field so collecting the booster changes doesn't allocate a new lambda every tick.
+    private final ObjIntConsumer<Color> showNewBooster = this::showNewBooster;
     private Direction direction;
-    private Direction pendingDirection;
+    private final DirectionInputQueue directionInputs = new DirectionInputQueue(AppConfigSnake.INPUT_QUEUE_CAPACITY);
+    // Receives every change of direction together with the tick it took effect, so the game can be replayed.
+    private ObjIntConsumer<Direction> recordDirection = (newDirection, atTick) -> { };
+    private int tick;
+    private final Random randomizer;
     private boolean gameOver = true;
     private final AtomicBoolean speedBoosterEffect = new AtomicBoolean();
     private boolean grow;
-    private ScheduledFuture<?> speedResetTask;
-    private ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-        return new Thread(r, "SpeedReset-Scheduler");
-    });
+    private IGameScheduler.Task speedResetTask;
+    private final IGameScheduler scheduler;
+    private final BoosterPool boosterPool;
     private final AtomicInteger speed = new AtomicInteger();
     private final AtomicInteger oldSpeed = new AtomicInteger();
     private final AtomicInteger newSpeed = new AtomicInteger();
@@ -45,7 +73,43 @@ public class SnakeModel implements ISnakeBoosterTarget {
      * Constructs the SnakeModel and stores the callback to notify when speed have changed.
      */
     public SnakeModel(final Consumer<Integer> notifySpeedHasChanged) {
+        this(notifySpeedHasChanged, AppConfigSnake.CELL_COUNT);
+    }
+
+    /**
+     * Constructs the SnakeModel for a grid of the given size, like the larger grids used by the benchmarks.
+     * The model gets its own {@link TimerWheel}, which nothing advances, so no booster spawns on its own.
+     * @param notifySpeedHasChanged the callback to notify when speed have changed.
+     * @param gridSize the number of cells along each side of the grid.
+     */
+    public SnakeModel(final Consumer<Integer> notifySpeedHasChanged, final int gridSize) {
+        this(notifySpeedHasChanged, gridSize, new TimerWheel(), new Random());
+    }
+
+    /**
+     * Constructs the SnakeModel with the scheduler and random generator of its game, like the game clock
+     * and seeded generator of a headless game. The model creates its booster pool on them, and the scheduler
+     * is shut down together with the model.
+     * @param notifySpeedHasChanged the callback to notify when speed have changed.
+     * @param gridSize the number of cells along each side of the grid.
+     * @param scheduler the scheduler that runs the boosters and their delayed effects.
+     * @param randomizer the random generator of the game.
+     */
+    public SnakeModel(
+        final Consumer<Integer> notifySpeedHasChanged,
+        final int gridSize,
+        final IGameScheduler scheduler,
+        final Random randomizer
+    ) {
+        this.scheduler = scheduler;
+        this.randomizer = randomizer;
+        boosterPool = new BoosterPool(gridSize, scheduler, randomizer);
         this.notifySpeedHasChanged = notifySpeedHasChanged;
+        this.gridSize = gridSize;
+        snake = new int[gridSize * gridSize + 1];
+        occupiedCells = new BitSet(gridSize * gridSize);
+        shownBoosterCells = new int[gridSize * gridSize];
+        shownBoosterColors = new Color[gridSize * gridSize];
     }
 
     /*==============================
@@ -54,100 +118,207 @@ public class SnakeModel implements ISnakeBoosterTarget {
 
     /**
      * Initializes the snake's starting position on the game grid.
-     * It also set default values to variables used during the game.
-     * @param updateGameGrid a callback that updates the views game grid with the snake
+     * It also set default values to variables used during the game,
+     * and resets the booster pool so every game starts from the same state.
+     * @param updateGameGrid a callback that receives a reset delta describing the whole grid
      */
-    public void initializeSnakeData(final Runnable updateGameGrid) {
-        // Clear the snake in case of a restart of the game so we have a clean slate.
-        snake.clear();
-
+    public void initializeSnakeData(final Consumer<GridDelta> updateGameGrid) {
         // Initialize the snake's tail position.
         final int startX = gridSize / 2 - (initialLength / 2);
         final int startY = gridSize / 2;
 
-        snake.add(new Point(startX, startY)); // Add the tail position.
-
-        // Builds the body, with the y-coordinate staying the same and x increasing by 1.
-        for (int i = 1; i < initialLength; i++) {
-            snake.add(new Point(startX + i, startY));
+        // The view empties its grid before painting the new snake and boosters.
+        gridDelta.markReset();
+        Arrays.fill(shownBoosterColors, 0, shownBoosterCount, null);
+        shownBoosterCount = 0;
+
+        cancelSpeedBoost();
+        boosterPool.reset(); // Returns the boosters and frees every cell, the snake claims its cells below.
+
+        synchronized (snakeLock) {
+            // Clear the snake in case of a restart of the game so we have a clean slate.
+            tailCursor = 0;
+            snakeLength = 0;
+            occupiedCells.clear();
+
+            // Builds the snake from the tail, with the y-coordinate staying the same and x increasing by 1.
+            for (int i = 0; i < initialLength; i++) {
+                boosterPool.occupyCell(toCellIndex(startX + i, startY));
+                addHead(toCellIndex(startX + i, startY));
+                gridDelta.add(getHeadCell(), i < initialLength - 1
+                    ? AppConfigSnake.COLOR_ACCENT
+                    : AppConfigSnake.COLOR_SNAKE_HEAD
+                );
+            }
         }
 
+        collectBoosterChanges();
+
         // Defaults the directions to right.
         direction = Direction.RIGHT;
-        pendingDirection = Direction.RIGHT;
+        directionInputs.reset(direction);
         gameOver = false; // Defaults the game over state to false.
+        grow = false;
+        tick = 0;
         setSpeed(AppConfigSnake.SNAKE_TICK_DELAY); // Reset the speed of the snake.
         oldSpeed.set(AppConfigSnake.SNAKE_TICK_DELAY); // Reset the speed of the snake.
         newSpeed.set(AppConfigSnake.SNAKE_TICK_DELAY); // Reset the speed of the snake.
 
-        updateGameGrid.run(); // Update the grid with the snake.
+        updateGameGrid.accept(gridDelta); // Update the grid with the snake.
     }
 
     /**
      * Method to update the position of the snake by shifting its body parts.
      *
-     * <p>The first step is to ensure that the pending direction isn't the
-     * opposite of the old direction. This is done by using the enum's ordinal
-     * method which returns the position of the constant.</p>
+     * <p>The first step is to take the next queued turn, if any. Turns are checked when they are
+     * queued, so a turn is never the {@link Direction#opposite()} of the direction before it.</p>
      *
      * <p>This method also checks for collision before adding the new head based
      * on the current one, wrapping around if necessary. If collision is detected
      * proper action is taken based on what's being collided with. If all goes well
      * the tail is removed if a cherry have not been eaten.</p>
      *
-     * @param updateGameGrid a callback that updates the views game grid with the snake
+     * <p>Every cell that changes along the way is recorded in a delta: the new head, the old head
+     * that now is a part of the body, the removed tail and any booster that appeared or disappeared.</p>
+     *
+     * @param updateGameGrid a callback that receives the delta of the cells that changed during this tick
      */
-    public void updateSnakeData(final Runnable updateGameGrid) {
-        final Point head = snake.peekLast();
-        int newX = head.x;
-        int newY = head.y;
-
-        if (direction.ordinal() + pendingDirection.ordinal() != 3) {
-            direction = pendingDirection;
+    public void updateSnakeData(final Consumer<GridDelta> updateGameGrid) {
+        gridDelta.clear();
+
+        final int head = getHeadCell();
+        final int headX = head % gridSize;
+        final int headY = head / gridSize;
+        int newX = headX;
+        int newY = headY;
+
+        final Direction nextDirection = directionInputs.poll(); // One queued turn per tick, checked when queued.
+        if (nextDirection != null) {
+            direction = nextDirection;
+            recordDirection.accept(direction, tick);
         }
+        tick++;
 
         switch (direction) {
-            case RIGHT -> newX = (head.x != gridSize - 1) ? head.x + 1 : 0;
-            case DOWN -> newY = (head.y != gridSize - 1) ? head.y + 1 : 0;
-            case LEFT -> newX = (head.x != 0) ? head.x - 1 : gridSize - 1;
-            case UP -> newY = (head.y != 0) ? head.y - 1 : gridSize - 1;
+            case RIGHT -> newX = (headX != gridSize - 1) ? headX + 1 : 0;
+            case DOWN -> newY = (headY != gridSize - 1) ? headY + 1 : 0;
+            case LEFT -> newX = (headX != 0) ? headX - 1 : gridSize - 1;
+            case UP -> newY = (headY != 0) ? headY - 1 : gridSize - 1;
         }
 
-        // Creates the new head so we can check for collision and add it to
+        // Packs the new head so we can check for collision and add it to
         // the snake if all goes well.
-        final Point newHead = new Point(newX, newY);
+        final int newHead = toCellIndex(newX, newY);
 
         checkCollision(newHead); // Check if we hit ourselves or stumble upon a booster.
 
-        snake.addLast(newHead); // Adds the new head.
+        synchronized (snakeLock) {
+            addHead(newHead); // Adds the new head.
+
+            if (grow) {
+                grow = false; // Reset the boolean if a cherry was eaten so the snake don't continue to grow.
+            } else {
+                final int tail = snake[tailCursor]; // Removes the tail if a cherry wasn't eaten.
+                tailCursor = (tailCursor + 1) % snake.length;
+                snakeLength--;
+
+                // On a game over the head may have landed on the old tail, so that cell stays occupied.
+                if (tail != newHead) {
+                    occupiedCells.clear(tail);
+                    boosterPool.vacateCell(tail);
+                    gridDelta.add(tail, null);
+                }
+            }
+        }
 
-        if (grow) {
-            grow = false; // Reset the boolean if a cherry was eaten so the snake don't continue to grow.
-        } else {
-            snake.removeFirst(); // Removes the tail if a cherry wasn't eaten.
+        gridDelta.add(head, AppConfigSnake.COLOR_ACCENT); // The old head is now a part of the body.
+        gridDelta.add(newHead, AppConfigSnake.COLOR_SNAKE_HEAD);
+        collectBoosterChanges();
+
+        updateGameGrid.accept(gridDelta);
+    }
+
+    /**
+     * Compares the active boosters with the ones the view already shows, and records the boosters
+     * that appeared or disappeared since the last tick in the delta.
+     *
+     * <p>A booster that disappears under the snake, like when the head eats it, isn't cleared
+     * since the snake already owns that cell.</p>
+     */
+    private void collectBoosterChanges() {
+        int keptCount = 0;
+
+        // Keeps the boosters that are still active and clears the ones that are gone.
+        for (int i = 0; i < shownBoosterCount; i++) {
+            final int cell = shownBoosterCells[i];
+            final BoosterModel booster = boosterPool.boosterAt(cell);
+
+            if (booster != null && booster.getBoosterColor().equals(shownBoosterColors[i])) {
+                shownBoosterCells[keptCount] = cell;
+                shownBoosterColors[keptCount++] = shownBoosterColors[i];
+            } else if (!isOccupied(cell)) {
+                gridDelta.add(cell, null);
+            }
+        }
+
+        Arrays.fill(shownBoosterColors, keptCount, shownBoosterCount, null);
+        shownBoosterCount = keptCount;
+        boosterPool.forEachActiveBooster(showNewBooster); // Adds the boosters that weren't shown before.
+    }
+
+    /**
+     * Helper method that records a booster in the delta, unless the view already shows it.
+     * @param color the color of the booster.
+     * @param cell the packed cell index of the booster.
+     */
+    private void showNewBooster(final Color color, final int cell) {
+        for (int i = 0; i < shownBoosterCount; i++) {
+            if (shownBoosterCells[i] == cell) { return; }
         }
 
-        updateGameGrid.run();
+        shownBoosterCells[shownBoosterCount] = cell;
+        shownBoosterColors[shownBoosterCount++] = color;
+        gridDelta.add(cell, color);
+    }
+
+    /**
+     * Helper method that writes a new head into the ring buffer and marks its cell as occupied.
+     * Must be called while holding the snakeLock.
+     * @param cell the packed cell index of the new head.
+     */
+    private void addHead(final int cell) {
+        snake[(tailCursor + snakeLength) % snake.length] = cell;
+        snakeLength++;
+        occupiedCells.set(cell);
     }
 
     /**
      * Checks the new head to determine if the game is over or if a booster will be consumed.
-     * @param newHead The new position of the snake's head that is being checked for collisions.
+     * @param newHead The packed cell index of the snake's new head that is being checked for collisions.
      */
-    private void checkCollision(final Point newHead) {
-        if (snake.contains(newHead)) {
+    private void checkCollision(final int newHead) {
+        if (isOccupied(newHead)) {
             gameOver = true;
         } else {
-            for (final Point p : BoosterPool.INSTANCE.getActiveBoosters().keySet()) {
-                if (p.equals(newHead)) {
-                    // Consume and add the booster to the placeholder
-                    BoosterPool.INSTANCE.getActiveBoosters().get(p).accept(false);
-                    break;
-                }
+            // Claims the cell before looking for a booster, so none can be placed under the head after the check.
+            boosterPool.occupyCell(newHead);
+            final BoosterModel booster = boosterPool.boosterAt(newHead);
+            if (booster != null) {
+                booster.consume(false); // Consume and return the booster to the pool.
             }
         }
     }
 
+    /**
+     * Helper method that packs a grid coordinate into the index used by the occupancy bitmap.
+     * @param x the x-coordinate of the cell.
+     * @param y the y-coordinate of the cell.
+     * @return the index of the cell, counted row by row from the top left corner.
+     */
+    private int toCellIndex(final int x, final int y) {
+        return y * gridSize + x;
+    }
+
     /*==============================
     * Getters
     ==============================*/
@@ -155,8 +326,112 @@ public class SnakeModel implements ISnakeBoosterTarget {
     @Override
     public List<Point> getSnake() {
         // Since this can be modified both by the EDT and the boosterManagers Executor we sync it.
-        synchronized (snake) {
-            return List.copyOf(snake);
+        synchronized (snakeLock) {
+            final List<Point> snapshot = new ArrayList<>(snakeLength);
+            forEachSnakeCell(cell -> snapshot.add(new Point(cell % gridSize, cell / gridSize)));
+            return Collections.unmodifiableList(snapshot);
+        }
+    }
+
+    @Override
+    public void forEachSnakeCell(final IntConsumer action) {
+        synchronized (snakeLock) {
+            for (int i = 0; i < snakeLength; i++) {
+                action.accept(snake[(tailCursor + i) % snake.length]);
+            }
+        }
+    }
+
+    @Override
+    public int getSnakeLength() {
+        synchronized (snakeLock) {
+            return snakeLength;
+        }
+    }
+
+    /**
+     * Gets the booster pool of this game, so the controller can fill and pause it.
+     * @return the game's booster pool.
+     */
+    public BoosterPool getBoosterPool() {
+        return boosterPool;
+    }
+
+    /**
+     * Gets the number of ticks since the game started.
+     * @return the number of finished ticks.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Computes a hash of everything that decides how the game continues: the snake, its direction and speed,
+     * and the boosters on the grid. Two games that are in the same state give the same hash, so it can be used
+     * to check that a replay, or a change of the tick code, ends up exactly where the original game did.
+     * @return a 64-bit hash of the game state.
+     */
+    public long getStateHash() {
+        final long[] hash = {FNV_OFFSET_BASIS};
+        final IntConsumer mix = value -> hash[0] = (hash[0] ^ value) * FNV_PRIME;
+
+        mix.accept(tick);
+        mix.accept(direction.ordinal());
+        mix.accept(speed.get());
+        mix.accept(grow ? 1 : 0);
+        mix.accept(gameOver ? 1 : 0);
+        forEachSnakeCell(mix);
+        boosterPool.forEachActiveBooster((color, cell) -> {
+            mix.accept(cell);
+            mix.accept(color.getRGB());
+        });
+        return hash[0];
+    }
+
+    /**
+     * Gets the mean time from a key press until the snake turned, during the current game.
+     * @return the mean input latency in nanoseconds, or 0 if the snake hasn't turned yet.
+     */
+    public long getMeanInputLatencyNanos() {
+        return directionInputs.getMeanLatencyNanos();
+    }
+
+    /**
+     * Gets the longest time from a key press until the snake turned, during the current game.
+     * @return the max input latency in nanoseconds.
+     */
+    public long getMaxInputLatencyNanos() {
+        return directionInputs.getMaxLatencyNanos();
+    }
+
+    /**
+     * Gets the current time between two game ticks.
+     * @return the tick delay in milliseconds.
+     */
+    public int getSpeed() {
+        return speed.get();
+    }
+
+    /**
+     * Gets the cell the snake's head currently occupies.
+     * @return the packed cell index (y * gridSize + x) of the head.
+     */
+    public int getHeadCell() {
+        synchronized (snakeLock) {
+            return snake[(tailCursor + snakeLength - 1) % snake.length];
+        }
+    }
+
+    /**
+     * Checks in constant time if the given cell is covered by the snake, without copying its body.
+     * Used by the collision check and by the headless bot. The boosters are kept off the snake by the
+     * free cells of the booster pool instead.
+     * @param cell the packed cell index (y * gridSize + x) to check.
+     * @return {@code true} if a part of the snake occupies the cell, {@code false} otherwise.
+     */
+    public boolean isOccupied(final int cell) {
+        synchronized (snakeLock) {
+            return occupiedCells.get(cell);
         }
     }
 
@@ -173,11 +448,32 @@ public class SnakeModel implements ISnakeBoosterTarget {
     ===================*/
 
     /**
-     * Sets the pending direction of the snake.
+     * Reseeds the random generator of the game, which the booster pool and the boosters share.
+     * Call it before {@link #initializeSnakeData(Consumer)} to make the next game replayable from the seed.
+     * @param seed the seed of the next game.
+     */
+    public void setSeed(final long seed) {
+        randomizer.setSeed(seed);
+    }
+
+    /**
+     * Sets the callback that receives every change of direction the snake makes, with the tick it took effect.
+     * Only directions that were actually taken are passed on, so feeding them back before the same ticks
+     * replays the game.
+     * @param recordDirection the callback that records the direction and the tick.
+     */
+    public void setDirectionRecorder(final ObjIntConsumer<Direction> recordDirection) {
+        this.recordDirection = recordDirection;
+    }
+
+    /**
+     * Queues a turn for the snake, which it takes on one of the next ticks, one turn per tick.
+     * Turns back into the snake and repeats of the last turn are ignored.
+     * Must always be called from the same thread, such as the EDT.
      * @param direction The new direction for the snake
      */
     public void setDirection(final Direction direction) {
-        pendingDirection = direction;
+        directionInputs.offer(direction);
     }
 
     @Override
@@ -203,13 +499,13 @@ public class SnakeModel implements ISnakeBoosterTarget {
             oldSpeed.set(speed.get());
             newSpeed.set((int) Math.max(50, oldSpeed.get() * speedMultiplier));
             setSpeed(newSpeed.get());
-            speedBoosterEffect.set(true);;
+            speedBoosterEffect.set(true);
 
             // Schedule reset after 7 seconds
             speedResetTask = scheduler.schedule(() -> {
                 setSpeed(oldSpeed.get() - (newSpeed.get() - speed.get()));
                 speedBoosterEffect.set(false);
-            }, 7, TimeUnit.SECONDS);
+            }, TimeUnit.SECONDS.toMillis(7));
         }
     }
 
@@ -221,7 +517,7 @@ public class SnakeModel implements ISnakeBoosterTarget {
      */
     public void cancelSpeedBoost() {
         if (speedResetTask != null && !speedResetTask.isDone()) {
-            speedResetTask.cancel(false);
+            speedResetTask.cancel();
         }
         speedBoosterEffect.set(false);
     }
@@ -243,7 +539,6 @@ public class SnakeModel implements ISnakeBoosterTarget {
      * Shuts down the scheduler when we exit the game.
      */
     public void shutdownScheduler() {
-        scheduler.shutdownNow();
-        scheduler = null;
+        scheduler.shutdown();
     }
 }
@@ -1,19 +1,17 @@
 package com.jman.gamelauncher.model;
 
 import java.awt.Color;
-import java.awt.Point;
-import java.util.Random;
 
 import com.jman.gamelauncher.support.AppConfig;
 import com.jman.gamelauncher.support.AppConfigSnake;
 import com.jman.gamelauncher.support.AudioManager;
+import com.jman.gamelauncher.support.ISoundEffectPlayer;
 
 /**
  * Represents a speed booster in the game, which temporarily boosts the snake's speed when consumed.
  * This class extends {@link BoosterModel} and defines the specific behavior of a speed booster.
  *
- * <p>Upon activation, we make sure its new position isn't occupied by the snake.
- * When consumed, it triggers the {@code boostSpeed()} method on {@link ISnakeBoosterTarget}.</p>
+ * <p>When consumed, it triggers the {@code boostSpeed()} method on {@link ISnakeBoosterTarget}.</p>
  *
  * <p>The booster also manages its own sound effect, which is preloaded on creation
  * and played upon consumption.</p>
@@ -24,38 +22,30 @@ public final class SnakeSpeedBoosterModel extends BoosterModel {
     private final ISnakeBoosterTarget snakeTarget;
     private final Color color = AppConfigSnake.COLOR_SPEED_BOOSTER;
     private final String soundEffect = AppConfigSnake.SOUND_EFFECT_SPEED;
-    private Random randomizer = new Random();
+    private final ISoundEffectPlayer soundEffectPlayer;
 
     /**
      * Creates a new SpeedBooster instance and preload its sound effect.
      * @param snakeTarget The target snake that will interact with the booster.
      */
     public SnakeSpeedBoosterModel(final ISnakeBoosterTarget snakeTarget) {
-        super("SpeedBooster");
-        this.snakeTarget = snakeTarget;
-        loadSoundEffect();
+        this(snakeTarget, AudioManager.INSTANCE);
     }
 
     /**
-     * {@inheritDoc}
-     *
-     * If the new booster position is occupied by the snake we do nothing.
-     * @param newPosition The position where the booster should appear.
+     * Creates a new SpeedBooster instance that plays its sound effect through the given player.
+     * @param snakeTarget The target snake that will interact with the booster.
+     * @param soundEffectPlayer the player that loads and plays the sound effect.
      */
-    @Override
-    public void activate(final Point newPosition) {
-        if (snakeTarget.getSnake().contains(newPosition)) { return; }
-        super.activate(newPosition);
+    public SnakeSpeedBoosterModel(final ISnakeBoosterTarget snakeTarget, final ISoundEffectPlayer soundEffectPlayer) {
+        this.snakeTarget = snakeTarget;
+        this.soundEffectPlayer = soundEffectPlayer;
+        loadSoundEffect();
     }
 
     @Override
-    void spawnCoolDown() {
-        try {
-            Thread.sleep(randomizer.nextLong(AppConfig.BOOSTER_SPAWN_MIN_DELAY, AppConfig.BOOSTER_SPAWN_MAX_DELAY));
-        } catch (final InterruptedException e) {
-            System.out.println("interrupted");
-            Thread.currentThread().interrupt();
-        }
+    long spawnCoolDown() {
+        return getRandomizer().nextLong(AppConfig.BOOSTER_SPAWN_MIN_DELAY, AppConfig.BOOSTER_SPAWN_MAX_DELAY);
     }
 
     /**
@@ -68,16 +58,16 @@ public final class SnakeSpeedBoosterModel extends BoosterModel {
 
     @Override
     void loadSoundEffect() {
-        AudioManager.INSTANCE.queueSoundEffect(soundEffect);
+        soundEffectPlayer.queueSoundEffect(soundEffect);
     }
 
     @Override
     void playSoundEffect() {
-        AudioManager.INSTANCE.playSoundEffect(soundEffect);
+        soundEffectPlayer.playSoundEffect(soundEffect);
     }
 
     @Override
     public Color getBoosterColor() {
-        return new Color(color.getRGB());
+        return color; // Colors are immutable, so the view can't change it.
     }
 }
@@ -38,11 +38,8 @@ public final class AppConfig {
     /** Path to sounds in the resources folder. */
     public static final String PATH_TO_SOUNDS = "/sounds/";
 
-    /** A silent sound to keep the audio responsive. */
-    public static final String SOUND_EFFECT_SILENCE = "keep_alive.wav";
-
-    /** A silent sound to keep the audio responsive. */
-    public static final String SOUND_EFFECTS_LOADED = "LOADED";
+    /** The bank of pre-decoded sounds that the build packs from the sound files, in the sounds folder. */
+    public static final String SOUND_BANK = "sounds.bank";
 
     /* =========================
     * Numbers
@@ -54,6 +51,15 @@ public final class AppConfig {
     /** A Delay for how often to spawn boosters in milliseconds. */
     public static final int BOOSTER_SPAWN_MIN_DELAY = 1000;
 
+    /** How many bytes of decoded sounds the AudioManager keeps cached between game launches. */
+    public static final long AUDIO_CACHE_MAX_BYTES = 16L * 1024 * 1024;
+
+    /** Number of frames the audio mixer mixes at a time, about 12 ms of sound. */
+    public static final int MIXER_BUFFER_FRAMES = 512;
+
+    /** Number of sounds the audio mixer can play at the same time. */
+    public static final int MIXER_VOICES = 16;
+
     /* =========================
     * Fonts
     ========================= */
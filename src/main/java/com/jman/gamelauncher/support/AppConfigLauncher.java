@@ -24,15 +24,28 @@ public final class AppConfigLauncher {
     /** Indicates wether I'm debugging or not. */
     public static final boolean DEBUG_MODE = false;
 
+    /**
+     * File the latency metrics are written to at every game over, set with
+     * {@code -Dgamelauncher.metricsFile=<file>}. Nothing is written if it's {@code null}.
+     */
+    public static final String METRICS_FILE = System.getProperty("gamelauncher.metricsFile");
+
+    /**
+     * Runs the launcher for a startup benchmark or a class data sharing training run, set with
+     * {@code -Dgamelauncher.startupBenchmark=true}. The last game played is started as soon as the launcher
+     * is painted, and at its first tick the startup times are printed and the launcher exits.
+     */
+    public static final boolean STARTUP_BENCHMARK = Boolean.getBoolean("gamelauncher.startupBenchmark");
+
     /* =========================
     * Strings
     ========================= */
 
-    /** An array of all existing game titles. All new games should be added here */
-    public static final String[] GAMES = {
-        AppConfig.SNAKE_TITLE,
-        "Coming Soon"
-    };
+    /** Preference key of the title of the last game played, the game the launcher prewarms. */
+    public static final String LAST_PLAYED_GAME = "lastPlayedGame";
+
+    /** Title of the launcher's entry for the games that are on their way, which shows a coming soon notice. */
+    public static final String COMING_SOON_TITLE = "Coming Soon";
 
     /** Name of the start view for the card layout in the launcher. */
     public static final String START = "Start";
@@ -34,6 +34,12 @@ public final class AppConfigSnake {
     /** Name of the single player view for the card layout in the snake game. */
     public static final String SINGLE_PLAYER = "SinglePlayer";
 
+    /**
+     * Directory the input log of every finished game is written to so it can be replayed,
+     * set with {@code -Dgamelauncher.replayDir=<dir>}. Games aren't recorded if it's {@code null}.
+     */
+    public static final String REPLAY_DIRECTORY = System.getProperty("gamelauncher.replayDir");
+
     /* =========================
     * Sounds
     ========================= */
@@ -63,6 +69,9 @@ public final class AppConfigSnake {
     /** Initial speed of the game loop. */
 	public static final int SNAKE_TICK_DELAY = 200;
 
+    /** Number of turns that can be queued ahead of the snake, a power of two. */
+    public static final int INPUT_QUEUE_CAPACITY = 4;
+
     /** A second in milliseconds. */
     public static final int SECOND_IN_MS = 1000;
 
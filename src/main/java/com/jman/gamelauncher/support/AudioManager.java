@@ -2,164 +2,195 @@ package com.jman.gamelauncher.support;
 
 import java.io.BufferedInputStream;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.nio.ShortBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
 
 /**
  * Singleton class for managing audio playback within the application.
- * This class handles loading, playing, and managing sound effects by implementing
- * the Producer/Consumer pattern, offloading the actual preloading of sounds to a
- * background thread so the clients can return to doing their thing, ensuring that
- * audio resources are ready for playback once needed.
+ * This class handles loading, playing, and managing sound effects. Sounds are queued by the
+ * clients and loaded in parallel on a small pool of background threads, so the clients,
+ * and the EDT in particular, never wait for a sound to load.
+ *
+ * <p>The sounds are played by the {@link AudioMixer}, which plays every sound through one output line that
+ * stays open for the whole session, so overlapping sounds don't cut each other off. Loading a sound normally
+ * means looking it up in the {@link SoundBank} that the build packs from the sound files, which is
+ * memory-mapped once, so a sound is only a slice of the mapped bank. A sound that isn't in the bank, or every
+ * sound when there is no bank, such as when running from the sources, is decoded from its sound file instead.
+ * The decoded samples are kept in a cache bounded by {@link AppConfig#AUDIO_CACHE_MAX_BYTES} that outlives
+ * the games, so when a game is launched again its sounds are ready at once. A sound that is played before
+ * it's ready, or without a sound card, is simply not heard.</p>
  *
  * <p>The audio manager uses a singleton pattern to provide a single instance
- * for sound management throughout the application lifecycle. It supports pre
- * loading of sound effects and keeps audio active to prevent playback issues.</p>
+ * for sound management throughout the application lifecycle.</p>
  *
  * @author Joel Lansgren
  */
-public enum AudioManager {
+public enum AudioManager implements ISoundEffectPlayer {
     INSTANCE;
-    private final Map<String, Clip> soundEffects = new HashMap<>();
-    private final BlockingQueue<String> soundEffectQueue = new LinkedBlockingQueue<>();
-    private final Thread soundConsumerThread = new SoundConsumer("SoundConsumer");
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-        return new Thread(r, "AudioManager-Scheduler");
-    });
-    private final Clip silence = loadSound(AppConfig.SOUND_EFFECT_SILENCE);
-    private final AtomicBoolean isSoundLoaded = new AtomicBoolean();
-    private CountDownLatch latch = new CountDownLatch(1);
-
-    /** Constructs the AudioManager and start up the consumer thread that is in charge of preloading sounds. */
-    private AudioManager() {
-        soundConsumerThread.start();
-    }
+    private final Map<String, CompletableFuture<ShortBuffer>> soundEffects = new ConcurrentHashMap<>();
+    // Decoded sounds by file, least recently used first, guarded by its own monitor.
+    private final Map<String, short[]> decodedSounds = new LinkedHashMap<>(16, 0.75f, true);
+    private long decodedBytes;
+    private final ExecutorService loaders = Executors.newFixedThreadPool(
+        Math.min(4, Runtime.getRuntime().availableProcessors()), daemonThreads()
+    );
+    // Opened in the background, since opening the sound card can take a while.
+    private final CompletableFuture<AudioMixer> mixer = CompletableFuture.supplyAsync(this::startMixer, loaders);
+    // Opened before any sound is loaded, every load waits for it.
+    private final CompletableFuture<SoundBank> soundBank = CompletableFuture.supplyAsync(this::openSoundBank, loaders);
 
     /**
-     * This is the Consumer in the Consumer/Producer pattern.
-     *
-     * <p>It simply removes a sound from the queue if one is
-     * available and adds it to the map for later retrieval
-     * and playback by threads, when a end string is recognized it means
-     * all sound files have been loaded and the consumer sets the isSoundLoaded
-     * boolean to true to signal game threads they can play sounds and countdown
-     * the latch to release the EDT so it can continue and display the game, otherwise
-     * it patiently waits until the application is shutdown.</p>
-     *
-     * @author Joel Lansgren
+     * Helper method that creates the factory of the loader threads, which are daemons
+     * so a sound that is still loading doesn't keep the application alive.
+     * @return the thread factory.
      */
-    private class SoundConsumer extends Thread {
-
-        private SoundConsumer(String name) { super(name); }
-
-        @Override
-        public void run() {
-            try {
-                while (true) {
-                    final String soundEffect = soundEffectQueue.take(); // Blocking call: waits if queue is empty.
-
-                    if (soundEffect.equals(AppConfig.SOUND_EFFECTS_LOADED)) {
-                        isSoundLoaded.set(true); // A signal to game threads they can playback sound effects
-                        latch.countDown();  // Count down the latch and releases the EDT if it's waiting.
-                    } else {
-                        soundEffects.put(soundEffect, loadSound(soundEffect));
-                    }
-                }
-            } catch (final InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
+    private static ThreadFactory daemonThreads() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return r -> {
+            final Thread thread = new Thread(r, "AudioManager-Loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 
+    /*==============================
+    * Loading
+    ==============================*/
+
     /**
-     * This method allows clients (producers) to add a sound to the queue to be consumed by the soundConsumerThread.
-     * The thread then preloads the sound so its ready for playback when needed.
-     *
-     * <p> When all sounds have been loaded from the client's side, an end string will be provided.
-     * this is used to coordinate complete loading before letting the client move on and
-     * display the game.</p>
+     * This method allows clients to queue a sound for loading. It returns at once, the sound
+     * is loaded in parallel with the other queued sounds and can be played once it's ready.
+     * Queuing a sound that is already loaded or loading does nothing.
      * @param soundEffect The last part of the path to the sound-file.
      */
+    @Override
     public void queueSoundEffect(final String soundEffect) {
-        if (isSoundLoaded.get()) { return; } // Early return if sound is loaded.
+        soundEffects.computeIfAbsent(
+            soundEffect,
+            key -> CompletableFuture.supplyAsync(() -> loadSound(key), loaders)
+        );
+    }
 
+    /**
+     * Opens the sound card and starts the mixer on it. Runs on a loader thread.
+     * @return the started mixer, or null if there is no sound card, in which case every sound is a no-op.
+     */
+    private AudioMixer startMixer() {
+        final AudioMixer audioMixer = new AudioMixer(
+            new SourceDataLineOutput(), AppConfig.MIXER_BUFFER_FRAMES, AppConfig.MIXER_VOICES
+        );
         try {
-            soundEffectQueue.put(soundEffect); // Blocking call: waits if another thread is accessing the queue.
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
+            audioMixer.start();
+            return audioMixer;
+        } catch (final Exception e) {
+            DebugLogger.INSTANCE.logException(e);
         }
+        return null;
+    }
 
-        if (soundEffect.equals(AppConfig.SOUND_EFFECTS_LOADED)) {
-            while (!isSoundLoaded.get()) {
-                try {
-                    latch.await();
-                } catch (final InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
+    /**
+     * Maps the sound bank. Runs on a loader thread.
+     * @return the bank, or null if there is no bank or it can't be read, in which case every sound is decoded.
+     */
+    private SoundBank openSoundBank() {
+        try {
+            return SoundBank.openResource(AppConfig.PATH_TO_SOUNDS + AppConfig.SOUND_BANK);
+        } catch (final Exception e) {
+            DebugLogger.INSTANCE.logException(e);
         }
+        return null;
     }
 
     /**
-     * Loads a sound file and returns a Clip object representing the audio.
+     * Gets the samples of a sound from the sound bank, or from the cache, or decodes the sound file first.
+     * Runs on a loader thread.
      * @param soundFile the last part of the path to the sound file to be loaded
-     * @return a Clip object containing the loaded sound, or null if an error occurs
+     * @return the samples of the sound, or null if an error occurs
      */
-    private Clip loadSound(final String soundFile) {
-        // The getClass().getResourceAsStream() is essential to ensure that sound files can be
-        // properly accessed and loaded from within a JAR file, the BufferedInputStream provides
-        // smoother playback for reacuring sounds.
-        try (InputStream is = new BufferedInputStream(
-            getClass().getResourceAsStream(AppConfig.PATH_TO_SOUNDS + soundFile)
-        )) {
-            final AudioInputStream audioStream = AudioSystem.getAudioInputStream(is);
-            final Clip clip = AudioSystem.getClip();
-            clip.open(audioStream); // Make the clip available for playback.
-            return clip;
+    private ShortBuffer loadSound(final String soundFile) {
+        try {
+            final SoundBank bank = soundBank.join();
+            final ShortBuffer mapped = bank == null ? null : bank.get(soundFile);
+            return mapped != null ? mapped : ShortBuffer.wrap(getDecodedSound(soundFile));
         } catch (final Exception e) {
             DebugLogger.INSTANCE.logException(e);
         }
-        return null; // Just return null if operation fails.
+        return null; // Just return null if operation fails, playing it is then a no-op.
     }
 
     /**
-     * Plays a specified pre loaded sound effect.
-     * @param soundEffect the key identifying the sound effect to be played
+     * Gets the decoded sound from the cache, or decodes it and adds it to the cache. Two loader threads may
+     * decode the same file at the same time on a cache miss, which is harmless since the data is the same.
+     * @param soundFile the last part of the path to the sound file.
+     * @return the decoded sound.
+     * @throws Exception if the sound file can't be read or decoded.
      */
-    public void playSoundEffect(final String soundEffect) {
-        playSoundEffect(soundEffects.get(soundEffect));
+    private short[] getDecodedSound(final String soundFile) throws Exception {
+        synchronized (decodedSounds) {
+            final short[] cached = decodedSounds.get(soundFile);
+            if (cached != null) { return cached; }
+        }
+
+        final short[] sound = decodeSound(soundFile);
+        synchronized (decodedSounds) {
+            final short[] previous = decodedSounds.put(soundFile, sound);
+            decodedBytes += Short.BYTES * (sound.length - (previous == null ? 0 : previous.length));
+
+            // Evicts the least recently used sounds, but always keeps the one just decoded.
+            final Iterator<short[]> eldest = decodedSounds.values().iterator();
+            while (decodedBytes > AppConfig.AUDIO_CACHE_MAX_BYTES && decodedSounds.size() > 1) {
+                decodedBytes -= Short.BYTES * eldest.next().length;
+                eldest.remove();
+            }
+        }
+        return sound;
     }
 
     /**
-     * Keeps the audio system alive by periodically playing a silent sound.
-     * This is useful for preventing issues with sound playback in some environments.
-     * This scheduler is alive the entirety of the launchers lifecycle while clips
-     * concerning games are shutdown by the launcher as the game is shutdown.
+     * Reads a sound file and decodes it into the samples the mixer plays.
+     * @param soundFile the last part of the path to the sound file.
+     * @return the decoded sound.
+     * @throws Exception if the sound file can't be read or decoded.
      */
-    public void keepAudioAlive() {
-        scheduler.scheduleAtFixedRate(() -> {
-            playSoundEffect(silence);
-        }, 0, 5, TimeUnit.SECONDS);
+    private short[] decodeSound(final String soundFile) throws Exception {
+        // The getClass().getResourceAsStream() is essential to ensure that sound files can be
+        // properly accessed and loaded from within a JAR file, and AudioSystem needs the
+        // mark/reset support of the BufferedInputStream to detect the file format.
+        try (InputStream is = new BufferedInputStream(
+            getClass().getResourceAsStream(AppConfig.PATH_TO_SOUNDS + soundFile)
+        ); AudioInputStream audioStream = AudioSystem.getAudioInputStream(is)) {
+            return AudioMixer.decode(audioStream);
+        }
     }
 
+    /*==============================
+    * Playback
+    ==============================*/
+
     /**
-     * Plays a given Clip object from the beginning.
-     * @param clip the Clip object representing the sound to be played
+     * Plays a specified pre loaded sound effect on top of whatever is already playing. It's a no-op if the
+     * sound isn't loaded yet, failed to load or was never queued, or if there is no sound card.
+     * @param soundEffect the key identifying the sound effect to be played
      */
-    private void playSoundEffect(final Clip clip) {
-        clip.setFramePosition(0); // Reset the clip to the start.
-        clip.start(); // Plays the clip.
+    @Override
+    public void playSoundEffect(final String soundEffect) {
+        final CompletableFuture<ShortBuffer> loadedSound = soundEffects.get(soundEffect);
+        final ShortBuffer samples = loadedSound == null ? null : loadedSound.getNow(null);
+        final AudioMixer audioMixer = mixer.getNow(null);
+        if (samples != null && audioMixer != null) {
+            audioMixer.play(samples);
+        }
     }
 
     /*==============================
@@ -169,19 +200,14 @@ public enum AudioManager {
     /**
      * Cleans up audio resources.
      *
-     * <p>This is done by closing all loaded sound clips, clearing the sound effects map, resetting the
-     * IsSoundLoaded boolean and latch.</p>
+     * <p>This is done by forgetting the sound effects of the game. The decoded sounds stay in the cache,
+     * so the next launch of a game has them ready at once, and the mixer keeps running for the next game.</p>
      *
-     * <p> This method should be invoked by the {@link com.dt181g.project.controller.LauncherController}
+     * <p> This method should be invoked by the {@link com.jman.gamelauncher.controller.LauncherController}
      * every time a game is shut down to ensure that only relevant audio resources are stored in memory.
-     * This helps prevent memory leaks and ensures that audio clips are not lingering in the system
-     * after they are no longer needed.</p>
+     * The cache is bounded, so the sounds of games that aren't played anymore are eventually dropped.</p>
      */
     public void shutdownAudio() {
-        soundEffects.values().forEach(Clip::close);
         soundEffects.clear();
-        isSoundLoaded.set(false);
-        latch =  new CountDownLatch(1);
     }
 }
-
@@ -0,0 +1,262 @@
+package com.jman.gamelauncher.support;
+
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+
+/**
+ * A software mixer that plays any number of overlapping sounds through one {@link IAudioOutput}.
+ *
+ * <p>Sounds are decoded up front with {@link #decode(AudioInputStream)} into 16-bit stereo samples in
+ * {@link #FORMAT}, or mapped straight from a {@link SoundBank}. Playing one only hands the samples to the
+ * mixer thread, which adds a voice for it and reads them in place, without copying them.
+ * The mixer thread sums all voices into a small fixed-size buffer, clips it and writes it to the output,
+ * over and over for as long as the mixer runs, writing silence when nothing plays. The output stays open
+ * the whole time, so a sound starts within a buffer or two and the same sound can overlap itself.
+ * When more sounds play at once than there are voices, the oldest one is cut off.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class AudioMixer {
+    /** The format the mixer plays in: 44.1 kHz, 16-bit signed, stereo, little-endian. */
+    public static final AudioFormat FORMAT = new AudioFormat(44_100f, 16, 2, true, false);
+    private static final int CHANNELS = 2;
+    private final IAudioOutput output;
+    private final int bufferSamples;
+    private final byte[] outputBuffer;
+    private final int[] mixBuffer;
+    // Sounds waiting to become voices, handed over from any thread to the mixer thread.
+    private final Queue<ShortBuffer> pendingVoices = new ConcurrentLinkedQueue<>();
+    // The voices, only touched by the mixer thread. A voice without samples is free.
+    private final ShortBuffer[] voiceSamples;
+    private final int[] voicePositions;
+    private final long[] voiceStarts;
+    private long voicesStarted;
+    private volatile boolean running;
+    private Thread mixerThread;
+
+    /**
+     * Constructs a mixer that isn't started yet.
+     * @param output where the mixed sound is written.
+     * @param bufferFrames the number of frames mixed at a time. Smaller buffers give lower latency.
+     * @param maxVoices the number of sounds that can play at the same time.
+     */
+    public AudioMixer(final IAudioOutput output, final int bufferFrames, final int maxVoices) {
+        this.output = output;
+        bufferSamples = bufferFrames * CHANNELS;
+        outputBuffer = new byte[bufferFrames * FORMAT.getFrameSize()];
+        mixBuffer = new int[bufferSamples];
+        voiceSamples = new ShortBuffer[maxVoices];
+        voicePositions = new int[maxVoices];
+        voiceStarts = new long[maxVoices];
+    }
+
+    /*==============================
+    * Start and Stop
+    ==============================*/
+
+    /**
+     * Opens the output on the calling thread, so a missing sound card is reported to the caller,
+     * and starts the mixer thread.
+     * @throws LineUnavailableException if the output can't be opened.
+     */
+    public synchronized void start() throws LineUnavailableException {
+        if (running) { return; }
+
+        output.open(FORMAT, outputBuffer.length);
+        running = true;
+        mixerThread = new Thread(this::run, "AudioMixer");
+        mixerThread.setDaemon(true);
+        mixerThread.setPriority(Thread.MAX_PRIORITY); // A late buffer is heard as a click.
+        mixerThread.start();
+    }
+
+    /**
+     * Stops the mixer thread after the buffer it's writing, and closes the output.
+     */
+    public void close() {
+        running = false;
+        final Thread thread = mixerThread;
+        if (thread == null || thread == Thread.currentThread()) { return; }
+
+        try {
+            thread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The loop of the mixer thread. Writing to the output blocks until it has room, which paces the loop.
+     */
+    private void run() {
+        try {
+            while (running) {
+                output.write(mixNextBuffer(), outputBuffer.length);
+            }
+        } catch (final RuntimeException e) {
+            DebugLogger.INSTANCE.logException(e);
+        } finally {
+            output.close();
+        }
+    }
+
+    /*==============================
+    * Mixing
+    ==============================*/
+
+    /**
+     * Plays a sound. Returns at once, the sound starts with the next mixed buffer.
+     * Can be called from any thread.
+     * @param samples the sound, decoded by {@link #decode(AudioInputStream)}. It must not be changed afterwards.
+     */
+    public void play(final short[] samples) {
+        play(ShortBuffer.wrap(samples));
+    }
+
+    /**
+     * Plays a sound that lives in a buffer, such as a sound mapped from a {@link SoundBank}. The samples are
+     * read from index 0 to the limit with absolute reads, so the same buffer can play on several voices at once.
+     * Returns at once, the sound starts with the next mixed buffer. Can be called from any thread.
+     * @param samples the interleaved stereo samples in {@link #FORMAT}. They must not be changed afterwards.
+     */
+    public void play(final ShortBuffer samples) {
+        if (samples.limit() > 0) {
+            pendingVoices.offer(samples);
+        }
+    }
+
+    /**
+     * Mixes the next buffer: adds the voices of the sounds played since the last buffer, sums every voice,
+     * clips the sum to 16 bits and encodes it little-endian. Called by the mixer thread, or directly by a test
+     * on a mixer that isn't started.
+     * @return the mixed buffer, which is reused by the next call.
+     */
+    byte[] mixNextBuffer() {
+        ShortBuffer pending;
+        while ((pending = pendingVoices.poll()) != null) {
+            startVoice(pending);
+        }
+
+        Arrays.fill(mixBuffer, 0);
+        for (int voice = 0; voice < voiceSamples.length; voice++) {
+            final ShortBuffer samples = voiceSamples[voice];
+            if (samples == null) { continue; }
+
+            final int position = voicePositions[voice];
+            final int count = Math.min(bufferSamples, samples.limit() - position);
+            for (int i = 0; i < count; i++) {
+                mixBuffer[i] += samples.get(position + i);
+            }
+            voicePositions[voice] = position + count;
+            if (position + count == samples.limit()) {
+                voiceSamples[voice] = null; // The sound is over, the voice is free.
+            }
+        }
+
+        for (int i = 0; i < bufferSamples; i++) {
+            final int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mixBuffer[i]));
+            outputBuffer[2 * i] = (byte) sample;
+            outputBuffer[2 * i + 1] = (byte) (sample >> 8);
+        }
+        return outputBuffer;
+    }
+
+    /**
+     * Helper method that puts a sound on a free voice, or on the oldest voice if none is free.
+     * @param samples the sound.
+     */
+    private void startVoice(final ShortBuffer samples) {
+        int chosen = 0;
+        for (int voice = 0; voice < voiceSamples.length; voice++) {
+            if (voiceSamples[voice] == null) {
+                chosen = voice;
+                break;
+            }
+            if (voiceStarts[voice] < voiceStarts[chosen]) {
+                chosen = voice;
+            }
+        }
+
+        voiceSamples[chosen] = samples;
+        voicePositions[chosen] = 0;
+        voiceStarts[chosen] = voicesStarted++;
+    }
+
+    /**
+     * Counts the voices that are playing. Only meaningful on the mixer thread, or in a test.
+     * @return the number of busy voices.
+     */
+    int activeVoices() {
+        int active = 0;
+        for (final ShortBuffer samples : voiceSamples) {
+            if (samples != null) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    /*==============================
+    * Decoding
+    ==============================*/
+
+    /**
+     * Decodes a sound into the samples the mixer plays: interleaved 16-bit stereo at 44.1 kHz.
+     * Mono sounds are played on both channels, only the first two channels of other sounds are kept,
+     * and sounds at another sample rate are resampled.
+     * @param stream the sound. It's read to the end but not closed.
+     * @return the interleaved stereo samples.
+     * @throws IOException if the sound can't be read.
+     * @throws IllegalArgumentException if the sound isn't in a PCM format Java can convert.
+     */
+    public static short[] decode(final AudioInputStream stream) throws IOException {
+        final AudioFormat source = stream.getFormat();
+        final int channels = source.getChannels();
+        final AudioFormat pcm = new AudioFormat(source.getSampleRate(), 16, channels, true, false);
+        final byte[] bytes = AudioSystem.getAudioInputStream(pcm, stream).readAllBytes();
+
+        final int frames = bytes.length / (2 * channels);
+        final short[] stereo = new short[frames * CHANNELS];
+        for (int frame = 0; frame < frames; frame++) {
+            for (int channel = 0; channel < CHANNELS; channel++) {
+                final int index = 2 * (frame * channels + Math.min(channel, channels - 1));
+                stereo[frame * CHANNELS + channel] = (short) ((bytes[index] & 0xFF) | (bytes[index + 1] << 8));
+            }
+        }
+        return source.getSampleRate() == FORMAT.getSampleRate()
+            ? stereo
+            : resample(stereo, source.getSampleRate() / FORMAT.getSampleRate());
+    }
+
+    /**
+     * Helper method that resamples stereo samples to the mixer's rate by linear interpolation.
+     * @param stereo the interleaved stereo samples.
+     * @param step how many source frames one mixer frame advances, the source rate over the mixer rate.
+     * @return the resampled interleaved stereo samples.
+     */
+    private static short[] resample(final short[] stereo, final double step) {
+        final int sourceFrames = stereo.length / CHANNELS;
+        final int frames = (int) (sourceFrames / step);
+        final short[] resampled = new short[frames * CHANNELS];
+        for (int frame = 0; frame < frames; frame++) {
+            final double position = frame * step;
+            final int first = (int) position;
+            final int second = Math.min(first + 1, sourceFrames - 1);
+            final double weight = position - first;
+            for (int channel = 0; channel < CHANNELS; channel++) {
+                resampled[frame * CHANNELS + channel] = (short) Math.round(
+                    stereo[first * CHANNELS + channel] * (1 - weight) + stereo[second * CHANNELS + channel] * weight
+                );
+            }
+        }
+        return resampled;
+    }
+}
@@ -1,69 +1,106 @@
 package com.jman.gamelauncher.support;
 
 import java.awt.Color;
-import java.awt.Point;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ObjIntConsumer;
 
 import com.jman.gamelauncher.model.BoosterModel;
 
 /**
- * A singleton object pool for managing the lifecycle of {@link BoosterModel}.
- * This class controls the activation and recycling of boosters used throughout different games.
- * It prevents duplicate booster positions and ensures proper synchronization.
+ * An object pool for managing the lifecycle of {@link BoosterModel} within one game.
+ * This class controls the activation and recycling of the boosters of its game.
+ * It prevents duplicate booster positions.
  *
- * <p>This is implemented as an enum singleton to guarantee thread safety.</p>
+ * <p>Every game owns its own pool, so any number of games can run side by side in the same JVM,
+ * like when a batch of headless games is played in parallel.</p>
+ *
+ * <p>The pool also keeps a {@link FreeCellSet} of the cells that neither the snake nor a booster occupies.
+ * The game reports every cell the snake enters or leaves, so when a booster's cool down is over it can be
+ * placed on a random free cell in constant time, however full the grid is.</p>
+ *
+ * <p>The game's scheduler drives both the periodic spawning and the cool downs of every booster,
+ * so the pool never needs a thread per booster and nothing in it blocks while waiting. The scheduler is the
+ * game's {@link TimerWheel}, which only moves with the game's ticks, so together with a seeded random
+ * generator the boosters follow the game's time and spawn the same way every time.</p>
+ *
+ * <p>The boosters on the grid are kept in an array indexed by their packed cell (y * gridSize + x),
+ * which is updated when a booster is activated or returned. That way the game can look up a booster
+ * under the snake's head in constant time, without building any collections each tick.</p>
+ *
+ * <p>The booster bookkeeping takes no lock. Each booster keeps its state in one atomic word that only
+ * changes by compare-and-set (see {@link BoosterModel}), a booster is registered on and removed from its cell
+ * by compare-and-set, and the boosters resting in the pool are a lock-free free-list: a bit mask with one bit
+ * per booster, which is why a pool holds at most {@value #MAX_BOOSTERS} boosters. So {@link #boosterAt(int)}
+ * and {@link #forEachActiveBooster(ObjIntConsumer)} never wait on anything.</p>
+ *
+ * <p>The free cells are the one part that still locks: every call into the {@link FreeCellSet} takes its
+ * monitor. That is {@link #occupyCell(int)} and {@link #vacateCell(int)} from the snake's moves, the claim of
+ * a cell when a cool down is over, the release of a cell when a booster is consumed, and {@link #reset()}.
+ * Since the cool downs run on the game clock, which the tick thread advances, all of these normally run on the
+ * tick thread and the monitor is uncontended. Only pausing and resetting, which release the cells of every
+ * booster, can take it from another thread, like when a game is started from the EDT.</p>
  *
  * @author Joel Lansgren
  */
-public enum BoosterPool {
-    INSTANCE;
-    private final Object boosterLock = new Object();
-    private final List<BoosterModel> boosterPool = new ArrayList<>();
-    private final List<BoosterModel> boosters = new ArrayList<>();
-    private final List<Point> boosterPositions = new ArrayList<>();
-    private final Random randomizer = new Random();
-    private ScheduledFuture<?> scheduledBoosterTask;
-    private ScheduledExecutorService  scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-        return new Thread(r, "BoosterActivator-Scheduler");
-    });
-    private boolean isPaused = true;
-    private int x;
-    private int y;
+public final class BoosterPool {
+    /** The most boosters a pool can hold, one per bit of the free-list. */
+    public static final int MAX_BOOSTERS = Long.SIZE;
+    private static final BoosterModel[] NO_BOOSTERS = {};
+    // Written only on initialize and shutdown, so reading it every tick never copies or locks.
+    private volatile BoosterModel[] boosters = NO_BOOSTERS;
+    // The free-list: bit i is set while boosters[i] rests in the pool.
+    private final AtomicLong idleBoosters = new AtomicLong();
+    private final AtomicReferenceArray<BoosterModel> boosterCells;
+    private final FreeCellSet freeCells;
+    private final IGameScheduler scheduler;
+    private final Random randomizer;
+    private IGameScheduler.Task scheduledBoosterTask;
+    private volatile boolean isPaused = true;
     private final Runnable periodicBoosterSpawner = () -> {
         if (!isPaused) {
-            x = randomizer.nextInt(AppConfigSnake.CELL_COUNT);
-            y = randomizer.nextInt(AppConfigSnake.CELL_COUNT);
-            Point newBoosterPosition = new Point(x, y);
-
-            if (boosterPositions.contains(newBoosterPosition)) { return; }
-
-            displayBooster(newBoosterPosition);
+            displayBooster();
         }
     };
 
+    /**
+     * Constructs an empty pool for a game.
+     * @param gridSize the number of cells along each side of the grid the boosters spawn on.
+     * @param scheduler the game's scheduler that drives the spawning and the cool downs, owned by the game.
+     * @param randomizer the game's random generator for the positions and cool downs of the boosters.
+     */
+    public BoosterPool(final int gridSize, final IGameScheduler scheduler, final Random randomizer) {
+        boosterCells = new AtomicReferenceArray<>(gridSize * gridSize);
+        freeCells = new FreeCellSet(gridSize * gridSize);
+        this.scheduler = scheduler;
+        this.randomizer = randomizer;
+    }
+
     /**
      * Initializes the booster pool with available boosters and sets a return method so they
-     * can return themselves to the pool. It also add the boosters to another booster list
+     * can return themselves to the pool, along with the shared scheduler that drives their
+     * cool downs. It also add the boosters to another booster list
      * that will be used to deal provide active stats during runtime. After that it starts a
      * method to schedule booster activation with a random delay.
      * This method should only be called once per game instantiation.
      * @param boosters The list of booster instances to be managed.
+     * @throws IllegalArgumentException if there are more than {@value #MAX_BOOSTERS} boosters.
      */
     public void initialize(final List<BoosterModel> boosters) {
+        if (boosters.size() > MAX_BOOSTERS) {
+            throw new IllegalArgumentException("A booster pool holds at most " + MAX_BOOSTERS + " boosters");
+        }
         for (final BoosterModel booster : boosters) {
             booster.setReturnBoosterMethod(this::returnBooster);
-            boosterPool.add(booster);
-            this.boosters.add(booster);
+            booster.setPlaceBoosterMethod(this::placeBooster);
+            booster.setReleaseCellMethod(this::releaseCell);
+            booster.setScheduler(scheduler);
+            booster.setRandomizer(randomizer);
         }
+        this.boosters = boosters.toArray(NO_BOOSTERS);
+        idleBoosters.set(allBoosters());
 
         scheduleBoosterActivationWithRandomDelay();
     }
@@ -76,36 +113,70 @@ public enum BoosterPool {
         scheduledBoosterTask = scheduler.scheduleAtFixedRate(
             periodicBoosterSpawner,
             0,
-            AppConfig.BOOSTER_SPAWN_MIN_DELAY,
-            TimeUnit.MILLISECONDS
+            AppConfig.BOOSTER_SPAWN_MIN_DELAY
         );
     }
 
     /**
-     * Retrieves an available booster and activates it at the given position.
-     * Blocks if no booster is available until one is returned to the pool.
-     * The method ensures no duplicate positions.
+     * Takes a random booster off the free-list and activates it. The booster gets its position once its cool down
+     * is over. If no booster is available this spawn is skipped, instead of blocking the shared scheduler
+     * until one is returned.
+     *
+     * <p>The random booster is drawn again only if a booster is returned at the same moment, which never happens
+     * on the game clock, so a seeded game still draws the same boosters every time.</p>
      */
-    public void displayBooster(Point newBoosterPosition) {
-        while (true) { // Wait until boosterPool is not empty.
-            synchronized (boosterLock) {
-                if (!boosterPool.isEmpty()) { break; }
-                try { boosterLock.wait(); }
-                catch (final InterruptedException e) { Thread.currentThread().interrupt(); }
-            }
+    public void displayBooster() {
+        final BoosterModel[] pooled = boosters;
+        long idle;
+        int index;
+        do {
+            idle = idleBoosters.get();
+            if (isPaused || idle == 0) { return; }
+            index = nthSetBit(idle, randomizer.nextInt(Long.bitCount(idle)));
+        } while (!idleBoosters.compareAndSet(idle, idle & ~(1L << index)));
 
-            if (isPaused) { return; } // If we are in pause mode, do nothing.
+        if (index < pooled.length) { // Otherwise the pool was shut down meanwhile.
+            pooled[index].activate();
+        }
+    }
+
+    /**
+     * Helper method that finds a set bit of a mask.
+     * @param mask the mask.
+     * @param n which of the set bits to find, counting from the lowest, 0 for the lowest.
+     * @return the position of the bit.
+     */
+    private static int nthSetBit(final long mask, final int n) {
+        long remaining = mask;
+        for (int i = 0; i < n; i++) {
+            remaining &= remaining - 1; // Clears the lowest set bit.
         }
+        return Long.numberOfTrailingZeros(remaining);
+    }
+
+    /**
+     * Helper method that creates the free-list with every booster of the pool resting in it.
+     * @return the mask with one bit set per booster.
+     */
+    private long allBoosters() {
+        final int count = boosters.length;
+        return count == Long.SIZE ? -1L : (1L << count) - 1;
+    }
 
-        synchronized (boosterLock) {
-            // Recheck pause after sleeping and possible wait time at the lock and check if the pool is empty
-            if (isPaused || boosterPool.isEmpty()) { return; }
-            final BoosterModel booster = boosterPool.remove(randomizer.nextInt(boosterPool.size()));
-            booster.activate(newBoosterPosition);
-            // We add the position to the list so we can double-check above if we
-            // happen to get a booster with a position that already's present.
-            boosterPositions.add(newBoosterPosition);
+    /**
+     * Claims a random free cell for a booster whose cool down is over. Claiming the cell and registering
+     * the booster on it happen before the booster turns active, so the snake never sees a half placed booster.
+     * @param booster the booster that should be placed.
+     * @return the packed cell index (y * gridSize + x) of the booster, or -1 if the grid is full or paused.
+     */
+    private int placeBooster(final BoosterModel booster) {
+        if (isPaused) { return -1; }
+
+        final int cell = freeCells.claimRandom(randomizer);
+        if (cell >= 0) {
+            boosterCells.set(cell, booster);
         }
+        return cell;
     }
 
     /*==============================
@@ -115,41 +186,95 @@ public enum BoosterPool {
     /**
      * Returns a booster to the pool after consumption.
      *
-     * <p>The boosters position is freed and any waiting threads are notified.</p>
+     * <p>The boosters position is freed so a new booster can spawn there.</p>
      * @param booster The booster being returned.
+     * @param cell the packed cell index the booster leaves, or -1 if it wasn't on the grid.
      */
-    private void returnBooster(final BoosterModel booster) {
-        synchronized (boosterLock) {
-            boosterPool.add(booster);
-            boosterPositions.remove(booster.getPosition());
-            boosterLock.notify();
+    private void returnBooster(final BoosterModel booster, final int cell) {
+        releaseCell(booster, cell);
+
+        final BoosterModel[] pooled = boosters;
+        for (int i = 0; i < pooled.length; i++) {
+            if (pooled[i] == booster) {
+                final long bit = 1L << i;
+                idleBoosters.getAndUpdate(idle -> idle | bit);
+                return;
+            }
         }
     }
 
+    /**
+     * Frees a cell held by a booster, unless the booster has already let go of it.
+     * Both the booster's return and a placement that was called back may release the same cell,
+     * so only the one that takes the booster off the cell frees it.
+     * @param booster the booster that held the cell.
+     * @param cell the packed cell index, or -1 for none.
+     */
+    private void releaseCell(final BoosterModel booster, final int cell) {
+        if (cell >= 0 && boosterCells.compareAndSet(cell, booster, null)) {
+            freeCells.vacate(cell);
+        }
+    }
+
+    /**
+     * Tells the pool that the snake has entered a cell, so no booster is placed there.
+     * @param cell the packed cell index (y * gridSize + x) the snake now covers.
+     */
+    public void occupyCell(final int cell) {
+        freeCells.occupy(cell);
+    }
+
+    /**
+     * Tells the pool that the snake has left a cell, so boosters can be placed there again.
+     * @param cell the packed cell index (y * gridSize + x) the snake no longer covers.
+     */
+    public void vacateCell(final int cell) {
+        freeCells.vacate(cell);
+    }
+
     /*==============================
     * Setters
     ==============================*/
 
     /**
-     * Toggles pause state. When paused, active boosters will be set to rest without
-     * applying their effects. Paused boosters will just remain where they are.
+     * Toggles pause state. When paused, active and cooling boosters will be set to rest without
+     * applying their effects, and no new boosters spawn until the pool is resumed.
      * @param isPaused Whether the boosters should be paused.
      */
     public void setPaused(final boolean isPaused) {
         this.isPaused = isPaused;
-        boosters.stream()
-        .filter(BoosterModel::isActive)
-        .forEach(booster -> booster.consume(isPaused));
+        if (isPaused) {
+            for (final BoosterModel booster : boosters) {
+                booster.consume(true);
+            }
+        }
+    }
+
+    /**
+     * Puts the pool back in the state it had right after {@link #initialize(List)}: every booster rests
+     * in the pool in its original order, every cell is free and the spawning starts over. The pool is left
+     * paused. Starting every game from the same state is what makes a seeded game replayable.
+     */
+    public void reset() {
+        setPaused(true);
+
+        for (int i = 0; i < boosterCells.length(); i++) {
+            boosterCells.set(i, null);
+        }
+        freeCells.reset();
+        idleBoosters.set(allBoosters());
+        if (scheduledBoosterTask != null) { // Not initialized yet, such as a snake without boosters.
+            resetBoosterActivation();
+        }
     }
 
     /**
      * Resets the booster activation by canceling the current scheduled task (if not already completed)
-     * and rescheduling it with a new random delay. If the task is currently sleeping or waiting,
-     * it will be interrupted and canceled.
+     * and rescheduling it with a new random delay.
      */
     public void resetBoosterActivation() {
         if (!scheduledBoosterTask.isDone()) {
-            scheduledBoosterTask.cancel(true); // Interrupt the task
+            scheduledBoosterTask.cancel();
         }
         scheduleBoosterActivationWithRandomDelay(); // Reschedule the task
     }
@@ -159,36 +284,29 @@ public enum BoosterPool {
     ==============================*/
 
     /**
-     * Retrieves the positions and colors of all active boosters.
-     *
-     * <p>It returns a map where the keys are the positions of the active boosters, and the values are
-     * the corresponding colors of the boosters.</p>
-     * @return A map where each entry contains the position of an active booster as the key and
-     * the corresponding booster color as the value.
+     * Looks up the booster shown on a cell in constant time.
+     * @param cell the packed cell index (y * gridSize + x) to check.
+     * @return the active booster on the cell, or {@code null} if there is none or it's still cooling down.
      */
-    public Map<Point, Color> getActiveBoosterData() {
-        return boosters.stream()
-        .filter(BoosterModel::isActive)
-        .collect(Collectors.toMap(
-            BoosterModel::getPosition,
-            BoosterModel::getBoosterColor
-        ));
+    public BoosterModel boosterAt(final int cell) {
+        final BoosterModel booster = boosterCells.get(cell);
+        return booster != null && booster.getActiveCell() == cell ? booster : null;
     }
 
     /**
-     * Retrieves a map of all active boosters with their positions and consume methods.
-     *
-     * <p>It returns a map where the keys are the positions of active boosters, and the values are
-     * the associated methods (consuming the boosters) represented as Consumers.</p>
-     * @return A map containing the positions of active boosters and their corresponding consume methods.
+     * Hands the color and cell of every active booster to the given action, without copying them
+     * into a collection first.
+     * @param action the action that receives the color and packed cell index of each active booster.
      */
-    public Map<Point, Consumer<Boolean>> getActiveBoosters() {
-        return boosters.stream()
-        .filter(BoosterModel::isActive)
-        .collect(Collectors.toMap(
-            BoosterModel::getPosition,
-            booster -> booster::consume
-        ));
+    public void forEachActiveBooster(final ObjIntConsumer<Color> action) {
+        // Reads the array once, so nothing is copied even if shutdown replaces it.
+        for (final BoosterModel booster : boosters) {
+            final int cell = booster.getActiveCell();
+
+            if (cell >= 0 && boosterCells.get(cell) == booster) {
+                action.accept(booster.getBoosterColor(), cell);
+            }
+        }
     }
 
     /*==============================
@@ -197,16 +315,57 @@ public enum BoosterPool {
 
     /**
      * Shuts down the booster pool, deactivating all boosters and clean up resources.
+     * Nothing here waits on a booster, so the shutdown completes right away.
      */
     public void shutdown() {
-        synchronized (boosterLock) {
-            isPaused = true;
-            boosterPool.forEach(BoosterModel::shutdown);
-            boosters.forEach(BoosterModel::shutdown);
-            boosterPool.clear();
-            boosters.clear();
-            boosterPositions.clear();
+        isPaused = true;
+        if (scheduledBoosterTask != null) {
+            scheduledBoosterTask.cancel();
         }
+        final BoosterModel[] pooled = boosters;
+        boosters = NO_BOOSTERS;
+        idleBoosters.set(0);
+        for (final BoosterModel booster : pooled) {
+            booster.shutdown();
+        }
+        for (int i = 0; i < boosterCells.length(); i++) {
+            boosterCells.set(i, null);
+        }
+        freeCells.reset();
+    }
+
+    /*==============================
+    * Consistency
+    ==============================*/
+
+    /**
+     * Counts the boosters resting in the pool. Only consistent while nothing else uses the pool, for tests.
+     * @return the number of boosters on the free-list.
+     */
+    int idleBoosterCount() {
+        return Long.bitCount(idleBoosters.get());
+    }
+
+    /**
+     * Counts the cells that hold a booster. Only consistent while nothing else uses the pool, for tests.
+     * @return the number of cells a booster is registered on.
+     */
+    int occupiedBoosterCellCount() {
+        int count = 0;
+        for (int i = 0; i < boosterCells.length(); i++) {
+            if (boosterCells.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the free cells. Only consistent while nothing else uses the pool, for tests.
+     * @return the number of cells that neither the snake nor a booster occupies.
+     */
+    int freeCellCount() {
+        return freeCells.size();
     }
 }
 
@@ -1,11 +1,9 @@
 package com.jman.gamelauncher.support;
 
-import java.util.function.Function;
-import java.util.logging.ConsoleHandler;
-import java.util.logging.Level;
-import java.util.logging.LogRecord;
-import java.util.logging.Logger;
-import java.util.logging.SimpleFormatter;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * A singleton logger utility for debugging and logging messages in the application.
@@ -15,6 +13,15 @@ import java.util.logging.SimpleFormatter;
  * allowing different parts of the application to log messages with various severity levels.
  * It formats log messages with specific colors for better visibility in the console.
  * </p>
+ *
+ * <p>
+ * Logging never blocks the caller, so it can stay on in production and be called from the game loop
+ * or a booster timer. A call checks the level first, then only claims a slot in a preallocated ring buffer
+ * and stores the raw message, arguments and caller. A single background thread does the formatting and
+ * writing, and sleeps until a message is logged. If the buffer is full the message is dropped and counted
+ * instead of making the caller wait. The level is set with {@code -Dgamelauncher.logLevel=INFO|WARNING|OFF},
+ * an unknown level is reported once and INFO is used instead.
+ * </p>
  * @author Joel Lansgren
  */
 public enum DebugLogger {
@@ -22,33 +29,85 @@ public enum DebugLogger {
     * Singleton instance of the DebugLogger enum.
     */
     INSTANCE;
-    private final Logger logger = Logger.getLogger("Logger");
+    private static final int CAPACITY = 1024; // A power of two.
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private final LogSlot[] slots = new LogSlot[CAPACITY];
+    private final int mask = CAPACITY - 1;
+    private final AtomicLong writeSequence = new AtomicLong(); // Claimed by any number of callers.
+    private final AtomicLong droppedMessages = new AtomicLong();
+    private final Level level;
+    private final PrintStream out = System.err;
+    private final Thread writer;
+    private volatile boolean isWriterIdle; // Set while the writer thread is about to sleep or sleeping.
+    private long readSequence; // Only used by the writer thread.
+
+    /**
+     * The severity of a message. Messages below the configured level are discarded before anything is formatted.
+     */
+    public enum Level {
+        /** Statistics and other information. */
+        INFO,
+        /** Problems and exceptions. */
+        WARNING,
+        /** Nothing is logged. */
+        OFF
+    }
+
+    /**
+     * A preallocated entry in the ring buffer. Its sequence tells whose turn it is: when it equals the write
+     * sequence of a caller the slot is free for that caller, and when it's one more it holds a message
+     * for the writer thread.
+     */
+    private static final class LogSlot {
+        private final AtomicLong sequence;
+        private String color;
+        private String message;
+        private Object[] args;
+        private Exception exception;
+        private StackWalker.StackFrame caller;
+
+        /**
+         * Constructs an empty slot.
+         * @param sequence the write sequence that may use the slot first.
+         */
+        private LogSlot(final long sequence) {
+            this.sequence = new AtomicLong(sequence);
+        }
+    }
 
     /*================================
         ↓ CONSTRUCTOR
     ================================*/
 
     /**
-     * Initializes the enum {@code DebugLogger} instance by attaching a
-     * {@code ConsoleHandler} set to INFO level with a simplified
-     * {@code SimpleFormatter} that logs messages directly.     *
+     * Initializes the enum {@code DebugLogger} instance by preallocating the ring buffer,
+     * reading the level and starting the writer thread. A shutdown hook writes what's left in the buffer.
      */
     DebugLogger() {
-        // Initializes the console handler
-        final ConsoleHandler consoleHandler = new ConsoleHandler();
-
-        // Configures the handler
-        consoleHandler.setFormatter(new SimpleFormatter() {
-            @Override
-            public synchronized String format(final LogRecord logRecord) {
-                return String.format("%s%n", logRecord.getMessage());
-            }
-        });
+        for (int i = 0; i < CAPACITY; i++) {
+            slots[i] = new LogSlot(i);
+        }
+        level = parseLevel(System.getProperty("gamelauncher.logLevel", "INFO"));
+
+        writer = new Thread(this::writeWhileRunning, "DebugLogger-Writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "DebugLogger-Flush"));
+    }
 
-        // Configures the logger
-        logger.addHandler(consoleHandler);
-        logger.setLevel(Level.INFO);
-        logger.setUseParentHandlers(false); // Disable the default console handler to avoid duplicate logs
+    /**
+     * Helper method that reads the configured level. The logger isn't running yet, so an unknown level
+     * is reported straight to the error stream, instead of failing the first class that logs.
+     * @param name the name of the level, in any case.
+     * @return the level, or INFO if there is no level with that name.
+     */
+    private static Level parseLevel(final String name) {
+        try {
+            return Level.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            System.err.println("Unknown gamelauncher.logLevel '" + name + "', logging at INFO instead");
+            return Level.INFO;
+        }
     }
 
     /*================================
@@ -56,12 +115,64 @@ public enum DebugLogger {
     ================================*/
 
     /**
-     * Logs the provided message with INFO level.
-     *
-     * @param message the message to be logged
+     * Checks if messages of a level are logged, so a caller can skip building an expensive message.
+     * @param messageLevel the level of the message.
+     * @return {@code true} if messages of the level are logged.
+     */
+    public boolean isEnabled(final Level messageLevel) {
+        return messageLevel != Level.OFF && messageLevel.compareTo(level) >= 0;
+    }
+
+    /**
+     * Hands a message to the writer thread without blocking. Drops the message if the buffer is full.
+     * @param color the ANSI color of the message.
+     * @param message the message, or the format if there are arguments.
+     * @param args the arguments for the format, or {@code null}.
+     * @param exception the logged exception, or {@code null}.
+     * @param caller the caller of the logged exception, or {@code null}.
      */
-    private void performLog(final String message) {
-        logger.info(message);
+    private void performLog(
+        final String color,
+        final String message,
+        final Object[] args,
+        final Exception exception,
+        final StackWalker.StackFrame caller
+    ) {
+        long sequence = writeSequence.get();
+        LogSlot slot;
+        while (true) {
+            slot = slots[(int) sequence & mask];
+            final long slotSequence = slot.sequence.get();
+            if (slotSequence == sequence) {
+                if (writeSequence.compareAndSet(sequence, sequence + 1)) { break; }
+                sequence = writeSequence.get(); // Another caller took it, try the next one.
+            } else if (slotSequence < sequence) {
+                droppedMessages.incrementAndGet(); // Full, the writer hasn't caught up.
+                wakeWriter();
+                return;
+            } else {
+                sequence = writeSequence.get();
+            }
+        }
+
+        slot.color = color;
+        slot.message = message;
+        slot.args = args;
+        slot.exception = exception;
+        slot.caller = caller;
+        slot.sequence.set(sequence + 1); // Hands the slot to the writer thread, before checking if it sleeps.
+        wakeWriter();
+    }
+
+    /**
+     * Helper method that wakes the writer thread if it sleeps. A caller that hands over a message and then finds
+     * the writer awake can rely on the writer seeing the message, since the writer checks the buffer again after
+     * saying it goes to sleep.
+     */
+    private void wakeWriter() {
+        if (isWriterIdle) {
+            LockSupport.unpark(writer);
+        }
     }
 
     // ===== Statistical logs =====
@@ -72,10 +183,21 @@ public enum DebugLogger {
      * @param message the message to be logged
      */
     public void logInfo(final String message) {
-        performLog(String.format("%s%s%s", AppConfigDebug.ANSI_YELLOW, message, AppConfigDebug.ANSI_RESET));
-
+        if (!isEnabled(Level.INFO)) { return; }
+        performLog(AppConfigDebug.ANSI_YELLOW, message, null, null, null);
     }
 
+    /**
+     * Logs information with a yellow color formatting. The message is formatted on the writer thread,
+     * so the arguments should be values that don't change afterwards, such as numbers and strings.
+     *
+     * @param format the format of the message, as for {@link String#format(String, Object...)}
+     * @param args the arguments referenced by the format
+     */
+    public void logInfo(final String format, final Object... args) {
+        if (!isEnabled(Level.INFO)) { return; }
+        performLog(AppConfigDebug.ANSI_YELLOW, format, args, null, null);
+    }
 
     /**
      * Logs warning information with a red color formatting.
@@ -83,48 +205,108 @@ public enum DebugLogger {
      * @param message the message to be logged
      */
     public void logWarning(final String message) {
-        performLog(String.format("%s%s%s", AppConfigDebug.ANSI_RED, message, AppConfigDebug.ANSI_RESET));
+        if (!isEnabled(Level.WARNING)) { return; }
+        performLog(AppConfigDebug.ANSI_RED, message, null, null, null);
+    }
+
+    /**
+     * Logs warning information with a red color formatting. The message is formatted on the writer thread,
+     * so the arguments should be values that don't change afterwards, such as numbers and strings.
+     *
+     * @param format the format of the message, as for {@link String#format(String, Object...)}
+     * @param args the arguments referenced by the format
+     */
+    public void logWarning(final String format, final Object... args) {
+        if (!isEnabled(Level.WARNING)) { return; }
+        performLog(AppConfigDebug.ANSI_RED, format, args, null, null);
     }
 
     /**
      * Logs a concise representation of the provided exception, including the class
-     * and method names of the caller.
+     * and method names of the caller. The caller is found with a single stack walk
+     * that stops at the first frame.
      *
      * @param e the exception that occurred, which is logged with its details.
      */
-    public void logException(Exception e) {
-        performLog(String.format("%s%s exception in %s.%s()%s",
-        AppConfigDebug.ANSI_RED,
-            e.toString(),
-            getCallerName(StackWalker.StackFrame::getClassName),
-            getCallerName(StackWalker.StackFrame::getMethodName),
-            AppConfigDebug.ANSI_RESET)
-        );
+    public void logException(final Exception e) {
+        if (!isEnabled(Level.WARNING)) { return; }
+
+        // The walk starts in this method, so the frame after it is the caller.
+        final StackWalker.StackFrame caller = STACK_WALKER.walk(frames -> frames.skip(1).findFirst()).orElse(null);
+        performLog(AppConfigDebug.ANSI_RED, null, null, e, caller);
     }
 
+    /*================================
+        ↓ Writer Thread
+    ================================*/
+
     /**
-     * Retrieves the name of the caller (class or method) from the stack trace.
-     *
-     * @param getName a function that takes a StackWalker.StackFrame as input
-     * and returns a String. This function is used to extract
-     * the desired name (either class name or method name) from the
-     * StackFrame. For example, use:
-     * <ul>
-     * <li> StackWalker.StackFrame::getClassName to get the class name</li>
-     * <li> StackWalker.StackFrame::getMethodName to get the method name</li>
-     * </ul>
-     * Note: StackWalker.StackFrame::getFileName also returns a string,
-     * but it may not be applicable for this method.
-     * @return the name of the original caller as a string
+     * The loop of the writer thread. It writes everything in the buffer and sleeps when it's empty,
+     * until a caller wakes it with a new message.
+     */
+    private void writeWhileRunning() {
+        while (true) {
+            if (!drain()) {
+                isWriterIdle = true;
+                if (!drain()) { // A message handed over before the flag was seen.
+                    LockSupport.park(this);
+                }
+                isWriterIdle = false;
+            }
+        }
+    }
+
+    /**
+     * Formats and writes every message in the buffer, and reports the messages that were dropped.
+     * @return {@code true} if anything was written.
+     */
+    private synchronized boolean drain() {
+        boolean isWritten = false;
+        LogSlot slot = slots[(int) readSequence & mask];
+        while (slot.sequence.get() == readSequence + 1) {
+            out.println(format(slot));
+
+            slot.message = null; // Let go of the references before handing the slot back.
+            slot.args = null;
+            slot.exception = null;
+            slot.caller = null;
+            slot.sequence.lazySet(readSequence + CAPACITY);
+            readSequence++;
+            slot = slots[(int) readSequence & mask];
+            isWritten = true;
+        }
+
+        final long dropped = droppedMessages.getAndSet(0);
+        if (dropped > 0) {
+            out.println(String.format(
+                "%s%d log messages dropped, the log buffer was full%s", AppConfigDebug.ANSI_RED, dropped,
+                AppConfigDebug.ANSI_RESET
+            ));
+            isWritten = true;
+        }
+        if (isWritten) {
+            out.flush();
+        }
+        return isWritten;
+    }
+
+    /**
+     * Formats the message in a slot, with the color codes around it.
+     * @param slot the slot holding the message.
+     * @return the formatted message.
      */
-    private String getCallerName(Function<StackWalker.StackFrame, String> getName) {
-        return StackWalker.getInstance()
-        // The skip(2) method retrieves the calling method directly outside this class as a StackFrame
-        .walk(frames -> frames.skip(2).findFirst())
-        // Applies the provided function to extract the desired value from the StackFrame
-        .map(getName)
-        // Fallback string, essentially never used since it is only used when there is no caller 2 methods above.
-        // However, it’s required because findFirst() returns an Optional that needs a fallback value.
-        .orElse("");
+    private static String format(final LogSlot slot) {
+        final String message;
+        if (slot.exception != null) {
+            message = String.format(
+                "%s exception in %s.%s()",
+                slot.exception,
+                slot.caller == null ? "" : slot.caller.getClassName(),
+                slot.caller == null ? "" : slot.caller.getMethodName()
+            );
+        } else {
+            message = slot.args == null ? slot.message : String.format(slot.message, slot.args);
+        }
+        return String.format("%s%s%s", slot.color, message, AppConfigDebug.ANSI_RESET);
     }
 }
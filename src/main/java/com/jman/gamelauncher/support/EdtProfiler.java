@@ -0,0 +1,280 @@
+package com.jman.gamelauncher.support;
+
+import java.awt.AWTEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A singleton profiler for the EDT, fed by {@link TimedEventQueue}.
+ *
+ * <p>While it's enabled it adds up the dispatch time per event type and source component, and keeps the
+ * slowest events together with stack samples of the EDT taken while they were dispatched. The samples come
+ * from a watchdog thread that looks at the EDT every few milliseconds, so they show which listener or
+ * repaint the time was spent in. While it's disabled the event queue only reads one volatile flag.</p>
+ *
+ * <p>It's enabled at startup with {@code -Dgamelauncher.edtProfiler=true} or in debug mode, and toggled
+ * at any time with Ctrl+Shift+P. Turning it off logs the report, which can also be read with
+ * {@link #report()}.</p>
+ *
+ * @author Joel Lansgren
+ */
+public enum EdtProfiler {
+    /**
+     * Singleton instance of the EdtProfiler enum.
+     */
+    INSTANCE;
+    private static final int SLOWEST_EVENTS = 10;
+    private static final int MAX_STACK_SAMPLES = 5;
+    private static final int MAX_STACK_DEPTH = 12;
+    private static final int MAX_DESCRIPTION_LENGTH = 100;
+    private static final int TOGGLE_MODIFIERS = InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK;
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private final long slowEventNanos = TimeUnit.MILLISECONDS.toNanos(
+        Long.getLong("gamelauncher.edtProfiler.thresholdMs", 50)
+    );
+    // Dispatch time per event type and then per source type, guarded by the monitor of the profiler.
+    private final Map<Class<?>, Map<Class<?>, DispatchStats>> statsByType = new HashMap<>();
+    private final PriorityQueue<SlowEvent> slowestEvents =
+        new PriorityQueue<>(Comparator.comparingLong(SlowEvent::durationNanos));
+    private final List<StackSample> currentSamples = new ArrayList<>();
+    private volatile boolean enabled;
+    private volatile Thread edtThread;
+    private volatile long dispatchStartNanos; // 0 while the EDT is idle.
+    private int dispatchDepth; // Only touched on the EDT.
+    private Thread watchdog;
+
+    /**
+     * The dispatch time of one kind of event from one kind of source.
+     */
+    private static final class DispatchStats {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+    }
+
+    /**
+     * A stack of the EDT taken during a slow dispatch.
+     * @param elapsedNanos how long the dispatch had been running when the stack was taken.
+     * @param frames the top frames of the stack.
+     */
+    private record StackSample(long elapsedNanos, StackTraceElement[] frames) { }
+
+    /**
+     * One of the slowest dispatched events.
+     * @param description the event type, source and parameters of the event.
+     * @param durationNanos the time the dispatch took.
+     * @param samples the stacks taken while it was dispatched.
+     */
+    private record SlowEvent(String description, long durationNanos, List<StackSample> samples) { }
+
+    /**
+     * Enables the profiler if it was asked for with the system property or the debug mode.
+     */
+    EdtProfiler() {
+        enabled = Boolean.getBoolean("gamelauncher.edtProfiler") || AppConfigLauncher.DEBUG_MODE;
+    }
+
+    /*==============================
+    * Toggling
+    ==============================*/
+
+    /**
+     * Checks if the profiler records the dispatched events.
+     * @return {@code true} if it's enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks if an event is the key press that toggles the profiler, Ctrl+Shift+P.
+     * @param event the event about to be dispatched.
+     * @return {@code true} if the profiler should be toggled.
+     */
+    public boolean isToggleKey(final AWTEvent event) {
+        if (event.getID() != KeyEvent.KEY_PRESSED) { return false; }
+
+        final KeyEvent keyEvent = (KeyEvent) event;
+        return keyEvent.getKeyCode() == KeyEvent.VK_P
+            && (keyEvent.getModifiersEx() & TOGGLE_MODIFIERS) == TOGGLE_MODIFIERS;
+    }
+
+    /**
+     * Turns the profiler on or off. Turning it on clears the earlier results,
+     * turning it off logs the report.
+     */
+    public void toggle() {
+        if (enabled) {
+            enabled = false;
+            if (DebugLogger.INSTANCE.isEnabled(DebugLogger.Level.INFO)) {
+                DebugLogger.INSTANCE.logInfo("EDT profiler disabled%n%s", report());
+            }
+        } else {
+            synchronized (this) {
+                statsByType.clear();
+                slowestEvents.clear();
+            }
+            enabled = true;
+            DebugLogger.INSTANCE.logInfo("EDT profiler enabled");
+        }
+    }
+
+    /*==============================
+    * Recording
+    ==============================*/
+
+    /**
+     * Marks the start of a dispatch. Called on the EDT by the event queue, only while the profiler is enabled.
+     */
+    void beginDispatch() {
+        if (dispatchDepth++ > 0) { return; } // A nested dispatch, such as a modal dialog pumping events.
+
+        edtThread = Thread.currentThread();
+        synchronized (this) {
+            currentSamples.clear();
+            startWatchdog();
+        }
+        dispatchStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a dispatch and records it. Called on the EDT by the event queue, after
+     * {@link #beginDispatch()}.
+     * @param event the dispatched event.
+     * @param durationNanos the time the dispatch took.
+     */
+    synchronized void endDispatch(final AWTEvent event, final long durationNanos) {
+        final Object source = event.getSource();
+        final DispatchStats stats = statsByType
+            .computeIfAbsent(event.getClass(), type -> new HashMap<>())
+            .computeIfAbsent(source == null ? Void.class : source.getClass(), type -> new DispatchStats());
+        stats.count++;
+        stats.totalNanos += durationNanos;
+        stats.maxNanos = Math.max(stats.maxNanos, durationNanos);
+
+        if (--dispatchDepth > 0) { return; }
+        dispatchStartNanos = 0;
+
+        // The description is only built for the events that make it into the slowest ones.
+        if (slowestEvents.size() < SLOWEST_EVENTS || durationNanos > slowestEvents.peek().durationNanos()) {
+            if (slowestEvents.size() == SLOWEST_EVENTS) {
+                slowestEvents.poll();
+            }
+            slowestEvents.add(new SlowEvent(describe(event), durationNanos, List.copyOf(currentSamples)));
+        }
+
+        if (durationNanos > slowEventNanos && DebugLogger.INSTANCE.isEnabled(DebugLogger.Level.WARNING)) {
+            DebugLogger.INSTANCE.logWarning(
+                "Slow EDT dispatch: %.1f ms %s", durationNanos / NANOS_PER_MILLI, describe(event)
+            );
+        }
+    }
+
+    /**
+     * Helper method that starts the watchdog thread unless it's already running. Must hold the monitor.
+     */
+    private void startWatchdog() {
+        if (watchdog != null && watchdog.isAlive()) { return; }
+
+        watchdog = new Thread(this::sampleWhileEnabled, "EDT-Profiler-Watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    /**
+     * The watchdog loop. It takes a stack sample of the EDT whenever the current dispatch has been running for
+     * longer than a sample interval, and ends when the profiler is disabled.
+     */
+    private void sampleWhileEnabled() {
+        while (enabled) {
+            LockSupport.parkNanos(SAMPLE_INTERVAL_NANOS);
+
+            final long start = dispatchStartNanos;
+            final long elapsed = System.nanoTime() - start;
+            if (start == 0 || elapsed < SAMPLE_INTERVAL_NANOS) { continue; }
+
+            final StackTraceElement[] stack = edtThread.getStackTrace();
+            synchronized (this) {
+                // The dispatch may have ended while the stack was taken.
+                if (dispatchStartNanos == start && currentSamples.size() < MAX_STACK_SAMPLES) {
+                    final int depth = Math.min(stack.length, MAX_STACK_DEPTH);
+                    currentSamples.add(new StackSample(elapsed, Arrays.copyOf(stack, depth)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method that describes an event by its type, source and parameters.
+     * @param event the event.
+     * @return a short description.
+     */
+    private static String describe(final AWTEvent event) {
+        final Object source = event.getSource();
+        final String description = String.format(
+            "%s from %s [%s]",
+            event.getClass().getSimpleName(),
+            source == null ? "null" : source.getClass().getSimpleName(),
+            event.paramString()
+        );
+        return description.length() <= MAX_DESCRIPTION_LENGTH
+            ? description
+            : description.substring(0, MAX_DESCRIPTION_LENGTH) + "...";
+    }
+
+    /*==============================
+    * Reporting
+    ==============================*/
+
+    /**
+     * Formats the dispatch time per event type and source, most time first, followed by the slowest
+     * events with their stack samples.
+     * @return the report.
+     */
+    public synchronized String report() {
+        final StringBuilder report = new StringBuilder(String.format(
+            "%-24s %-28s %8s %10s %9s %9s  (ms)%n", "event", "source", "count", "total", "mean", "max"
+        ));
+
+        final List<Map.Entry<String, DispatchStats>> rows = new ArrayList<>();
+        statsByType.forEach((eventType, bySource) -> bySource.forEach((sourceType, stats) -> rows.add(Map.entry(
+            String.format("%-24s %-28s", eventType.getSimpleName(), sourceType.getSimpleName()), stats
+        ))));
+        rows.sort(Comparator.comparingLong(
+            (final Map.Entry<String, DispatchStats> row) -> row.getValue().totalNanos
+        ).reversed());
+        for (final Map.Entry<String, DispatchStats> row : rows) {
+            final DispatchStats stats = row.getValue();
+            report.append(String.format(
+                "%s %8d %10.1f %9.3f %9.3f%n",
+                row.getKey(), stats.count, stats.totalNanos / NANOS_PER_MILLI,
+                stats.totalNanos / NANOS_PER_MILLI / stats.count, stats.maxNanos / NANOS_PER_MILLI
+            ));
+        }
+
+        report.append(String.format("%nSlowest %d events:%n", slowestEvents.size()));
+        final List<SlowEvent> slowest = new ArrayList<>(slowestEvents);
+        slowest.sort(Comparator.comparingLong(SlowEvent::durationNanos).reversed());
+        for (final SlowEvent slowEvent : slowest) {
+            report.append(String.format("%9.3f ms %s%n", slowEvent.durationNanos() / NANOS_PER_MILLI,
+                slowEvent.description()));
+            for (final StackSample sample : slowEvent.samples()) {
+                report.append(String.format("    sample at %.1f ms:%n", sample.elapsedNanos() / NANOS_PER_MILLI));
+                for (final StackTraceElement frame : sample.frames()) {
+                    report.append("        at ").append(frame).append(System.lineSeparator());
+                }
+            }
+        }
+        return report.toString();
+    }
+}
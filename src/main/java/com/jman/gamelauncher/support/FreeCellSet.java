@@ -0,0 +1,119 @@
+package com.jman.gamelauncher.support;
+
+import java.util.Random;
+
+/**
+ * Keeps track of the grid cells that nothing occupies, so a random free cell can be picked in constant time.
+ *
+ * <p>The free cells are stored packed at the front of an array, and a second array remembers where in it
+ * each cell is. Occupying a cell swaps it with the last free cell and shrinks the free part by one, and
+ * vacating it does the opposite. Picking a free cell is then a single random index into the free part,
+ * no matter how full the grid is.</p>
+ *
+ * <p>A cell can be occupied by more than one thing at once, like when the snake's head moves onto a
+ * booster, so every cell has a count and only becomes free when the last occupant leaves.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class FreeCellSet {
+    private final int[] cells;
+    private final int[] positions;
+    private final int[] occupants;
+    private int freeCount;
+
+    /**
+     * Constructs a set where every cell is free.
+     * @param cellCount the total number of cells on the grid.
+     */
+    public FreeCellSet(final int cellCount) {
+        cells = new int[cellCount];
+        positions = new int[cellCount];
+        occupants = new int[cellCount];
+        reset();
+    }
+
+    /*==============================
+    * Setters
+    ==============================*/
+
+    /**
+     * Adds an occupant to a cell, taking the cell out of the free cells if it was free.
+     * @param cell the packed cell index (y * gridSize + x) to occupy.
+     */
+    public synchronized void occupy(final int cell) {
+        if (occupants[cell]++ == 0) {
+            swap(positions[cell], --freeCount);
+        }
+    }
+
+    /**
+     * Removes an occupant from a cell, putting the cell back among the free cells if it was the last one.
+     * @param cell the packed cell index (y * gridSize + x) to vacate.
+     */
+    public synchronized void vacate(final int cell) {
+        if (occupants[cell] == 0) { return; }
+
+        if (--occupants[cell] == 0) {
+            swap(positions[cell], freeCount++);
+        }
+    }
+
+    /**
+     * Picks a random free cell and occupies it in one step, so two callers can't end up with the same cell.
+     * @param randomizer the random generator used to pick the cell.
+     * @return the packed cell index of the claimed cell, or -1 if the grid is full.
+     */
+    public synchronized int claimRandom(final Random randomizer) {
+        if (freeCount == 0) { return -1; }
+
+        final int cell = cells[randomizer.nextInt(freeCount)];
+        occupy(cell);
+        return cell;
+    }
+
+    /** Frees every cell. */
+    public synchronized void reset() {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i;
+            positions[i] = i;
+            occupants[i] = 0;
+        }
+        freeCount = cells.length;
+    }
+
+    /**
+     * Helper method that swaps two entries of the cell array and updates their positions.
+     * @param i the index of the first entry.
+     * @param j the index of the second entry.
+     */
+    private void swap(final int i, final int j) {
+        final int cellAtI = cells[i];
+        final int cellAtJ = cells[j];
+
+        cells[i] = cellAtJ;
+        cells[j] = cellAtI;
+        positions[cellAtJ] = i;
+        positions[cellAtI] = j;
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Checks if nothing occupies a cell.
+     * @param cell the packed cell index (y * gridSize + x) to check.
+     * @return {@code true} if the cell is free, {@code false} otherwise.
+     */
+    public synchronized boolean isFree(final int cell) {
+        return occupants[cell] == 0;
+    }
+
+    /**
+     * Returns the number of free cells.
+     * @return how many cells nothing occupies.
+     */
+    public synchronized int size() {
+        return freeCount;
+    }
+}
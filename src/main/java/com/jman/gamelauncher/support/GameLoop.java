@@ -0,0 +1,257 @@
+package com.jman.gamelauncher.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * A fixed-timestep game loop that runs the game simulation on its own thread, decoupled from the EDT.
+ *
+ * <p>The loop measures the real time that has passed and adds it to an accumulator, then runs one
+ * tick for every full timestep in it. That keeps the simulation running at the requested speed even
+ * if the EDT is busy. Once one or more ticks have run, a render callback is handed to the EDT. Render
+ * requests are coalesced, so a stalled EDT renders once when it catches up instead of once per tick.</p>
+ *
+ * <p>If the loop falls behind it runs extra ticks to catch up, and these are counted as late ticks.
+ * If it falls so far behind that catching up would take too long, the excess ticks are skipped and
+ * counted as dropped ticks instead.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class GameLoop {
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    private static final int TICK_RATE_SAMPLES = 16;
+    private final String name;
+    private final Runnable tick;
+    private final Runnable render;
+    private final LatencyHistogram tickJitter;
+    private final AtomicBoolean isRenderPending = new AtomicBoolean();
+    private final AtomicLong lateTicks = new AtomicLong();
+    private final AtomicLong droppedTicks = new AtomicLong();
+    private final long[] tickTimes = new long[TICK_RATE_SAMPLES];
+    private long tickCount;
+    private volatile long tickNanos;
+    private volatile boolean running;
+    private volatile Thread loopThread;
+
+    /**
+     * Constructs a game loop that isn't started yet.
+     * @param name the name of the loop thread.
+     * @param delay the initial time between two ticks in milliseconds.
+     * @param tick the game logic that runs once per timestep on the loop thread.
+     * @param render the rendering that runs on the EDT after one or more ticks have finished.
+     * @param tickJitter the histogram that records how far the time between two ticks is off from the delay.
+     */
+    public GameLoop(
+        final String name,
+        final int delay,
+        final Runnable tick,
+        final Runnable render,
+        final LatencyHistogram tickJitter
+    ) {
+        this.name = name;
+        this.tick = tick;
+        this.render = render;
+        this.tickJitter = tickJitter;
+        setDelay(delay);
+    }
+
+    /*==============================
+    * Start and Stop
+    ==============================*/
+
+    /**
+     * Starts the loop on a new thread if it isn't already running.
+     * The first tick runs one timestep after the start.
+     */
+    public synchronized void start() {
+        if (running) { return; }
+
+        awaitLoopThread(); // Make sure a stopped loop has finished its last tick.
+        synchronized (tickTimes) {
+            tickCount = 0;
+        }
+        running = true;
+        loopThread = new Thread(this::run, name);
+        loopThread.setDaemon(true);
+        loopThread.start();
+    }
+
+    /**
+     * Stops the loop. When called from another thread than the loop itself, this waits until
+     * the tick in progress is finished, so the caller can safely touch the game state afterwards.
+     */
+    public void stop() {
+        running = false;
+        final Thread thread = loopThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        awaitLoopThread();
+    }
+
+    /**
+     * Helper method that waits for the loop thread to finish, unless it's the loop thread itself that's calling.
+     * It doesn't hold the monitor of the loop while waiting, since the loop thread may call {@link #stop()}.
+     */
+    private void awaitLoopThread() {
+        final Thread thread = loopThread;
+        if (thread == null || thread == Thread.currentThread()) { return; }
+
+        try {
+            thread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*==============================
+    * Loop
+    ==============================*/
+
+    /**
+     * The loop itself. It accumulates the elapsed time and runs one tick for each full timestep,
+     * then schedules a render and parks the thread until the next timestep is due.
+     */
+    private void run() {
+        long previousTime = System.nanoTime();
+        long previousTickStart = 0;
+        long accumulator = 0;
+
+        while (running) {
+            final long now = System.nanoTime();
+            final long step = tickNanos;
+            accumulator += now - previousTime;
+            previousTime = now;
+
+            // Too far behind to catch up, skip the excess ticks so we don't spiral.
+            if (accumulator > step * MAX_CATCH_UP_TICKS) {
+                droppedTicks.addAndGet(accumulator / step - MAX_CATCH_UP_TICKS);
+                accumulator = step * MAX_CATCH_UP_TICKS;
+            }
+
+            int ticksThisFrame = 0;
+            while (running && accumulator >= step) {
+                // Catch-up ticks run back to back, so they show up as jitter too.
+                final long tickStart = System.nanoTime();
+                if (previousTickStart != 0) {
+                    tickJitter.record(Math.abs(tickStart - previousTickStart - step));
+                } else {
+                    StartupProfiler.INSTANCE.firstGameTick();
+                }
+                previousTickStart = tickStart;
+
+                try {
+                    tick.run();
+                } catch (final RuntimeException e) {
+                    DebugLogger.INSTANCE.logException(e);
+                    running = false;
+                }
+                recordTick(System.nanoTime());
+                accumulator -= step;
+                ticksThisFrame++;
+            }
+
+            if (ticksThisFrame > 1) {
+                lateTicks.addAndGet(ticksThisFrame - 1);
+            }
+
+            if (ticksThisFrame > 0) {
+                scheduleRender();
+            }
+
+            if (running) {
+                LockSupport.parkNanos(step - accumulator);
+            }
+        }
+    }
+
+    /**
+     * Hands a render to the EDT, unless one is already waiting there.
+     */
+    private void scheduleRender() {
+        if (isRenderPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                isRenderPending.set(false);
+                render.run();
+            });
+        }
+    }
+
+    /**
+     * Stores the time of a finished tick in a small ring buffer used to measure the tick rate.
+     * @param time the time the tick finished, from {@link System#nanoTime()}.
+     */
+    private void recordTick(final long time) {
+        synchronized (tickTimes) {
+            tickTimes[(int) (tickCount % TICK_RATE_SAMPLES)] = time;
+            tickCount++;
+        }
+    }
+
+    /*==============================
+    * Setters
+    ==============================*/
+
+    /**
+     * Sets the time between two ticks. Takes effect from the next timestep.
+     * @param delay the new delay in milliseconds.
+     */
+    public void setDelay(final int delay) {
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Returns the requested time between two ticks.
+     * @return the delay in milliseconds.
+     */
+    public int getDelay() {
+        return (int) TimeUnit.NANOSECONDS.toMillis(tickNanos);
+    }
+
+    /**
+     * Checks if the loop is running.
+     * @return {@code true} if the loop is running, {@code false} otherwise.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Measures the real tick rate over the latest ticks, as opposed to the requested one.
+     * @return the measured ticks per second, or 0 if fewer than two ticks have run.
+     */
+    public double getTicksPerSecond() {
+        synchronized (tickTimes) {
+            final int samples = (int) Math.min(tickCount, TICK_RATE_SAMPLES);
+            if (samples < 2) { return 0; }
+
+            final long newest = tickTimes[(int) ((tickCount - 1) % TICK_RATE_SAMPLES)];
+            final long oldest = tickTimes[(int) ((tickCount - samples) % TICK_RATE_SAMPLES)];
+            return (samples - 1) * (double) TimeUnit.SECONDS.toNanos(1) / (newest - oldest);
+        }
+    }
+
+    /**
+     * Returns how many ticks ran late, as part of a catch-up after the loop fell behind.
+     * @return the number of late ticks since the loop was created.
+     */
+    public long getLateTicks() {
+        return lateTicks.get();
+    }
+
+    /**
+     * Returns how many ticks were skipped because the loop fell too far behind to catch up.
+     * @return the number of dropped ticks since the loop was created.
+     */
+    public long getDroppedTicks() {
+        return droppedTicks.get();
+    }
+}
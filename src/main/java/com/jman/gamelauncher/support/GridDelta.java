@@ -0,0 +1,111 @@
+package com.jman.gamelauncher.support;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * A reusable list of grid cells that changed color during a game tick.
+ *
+ * <p>The model fills it with the cells that were added to or removed from the grid, and the view
+ * repaints only those cells instead of the whole grid. A delta can also be marked as a reset,
+ * which tells the view to empty the grid before applying the changes, like when a game restarts.</p>
+ *
+ * <p>The backing arrays grow on demand and are kept between ticks, so clearing and refilling
+ * a delta doesn't allocate once it has reached its working size.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class GridDelta {
+    private int[] cells = new int[16];
+    private Color[] colors = new Color[16];
+    private int size;
+    private boolean reset;
+
+    /*==============================
+    * Setters
+    ==============================*/
+
+    /**
+     * Records that a cell changed color.
+     * @param cell the packed index (y * gridSize + x) of the cell.
+     * @param color the new color of the cell, or {@code null} if the cell became empty.
+     */
+    public void add(final int cell, final Color color) {
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+            colors = Arrays.copyOf(colors, size * 2);
+        }
+
+        cells[size] = cell;
+        colors[size] = color;
+        size++;
+    }
+
+    /**
+     * Appends the changes of another delta to this one. If the other delta is a reset,
+     * the changes already in this delta are dropped since they are overwritten anyway.
+     * @param other the delta whose changes should be added.
+     */
+    public void addAll(final GridDelta other) {
+        if (other.reset) {
+            markReset();
+        }
+
+        for (int i = 0; i < other.size; i++) {
+            add(other.cells[i], other.colors[i]);
+        }
+    }
+
+    /** Empties the delta so it can be reused for the next tick. */
+    public void clear() {
+        Arrays.fill(colors, 0, size, null); // Don't hold on to booster colors between ticks.
+        size = 0;
+        reset = false;
+    }
+
+    /**
+     * Empties the delta and marks it as a reset, meaning every cell not listed in it is empty.
+     */
+    public void markReset() {
+        clear();
+        reset = true;
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Checks if the grid should be emptied before the changes are applied.
+     * @return {@code true} if the delta describes the whole grid, {@code false} otherwise.
+     */
+    public boolean isReset() {
+        return reset;
+    }
+
+    /**
+     * Returns the number of changed cells.
+     * @return the amount of changes in the delta.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the cell of a change.
+     * @param index the position of the change in the delta.
+     * @return the packed index (y * gridSize + x) of the changed cell.
+     */
+    public int getCell(final int index) {
+        return cells[index];
+    }
+
+    /**
+     * Returns the new color of a change.
+     * @param index the position of the change in the delta.
+     * @return the color of the changed cell, or {@code null} if the cell became empty.
+     */
+    public Color getColor(final int index) {
+        return colors[index];
+    }
+}
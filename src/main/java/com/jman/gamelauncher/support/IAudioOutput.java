@@ -0,0 +1,58 @@
+package com.jman.gamelauncher.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+
+/**
+ * Where the {@link AudioMixer} sends the mixed sound. Normally a {@link SourceDataLineOutput} on the sound card,
+ * but the mixer can just as well run against the {@link #NULL} output on a headless box, or against a
+ * {@link StreamAudioOutput} that captures the mixed bytes in a file or a test.
+ *
+ * @author Joel Lansgren
+ */
+public interface IAudioOutput {
+    /**
+     * An output that throws the sound away, but takes as long as playing it would,
+     * so the mixer thread keeps its real time pace instead of spinning.
+     */
+    IAudioOutput NULL = new IAudioOutput() {
+        private volatile float bytesPerSecond;
+
+        @Override
+        public void open(final AudioFormat format, final int bufferBytes) {
+            bytesPerSecond = format.getFrameRate() * format.getFrameSize();
+        }
+
+        @Override
+        public void write(final byte[] buffer, final int length) {
+            LockSupport.parkNanos((long) (length / bytesPerSecond * TimeUnit.SECONDS.toNanos(1)));
+        }
+
+        @Override
+        public void close() { }
+    };
+
+    /**
+     * Opens the output. Called once by {@link AudioMixer#start()} on the thread that starts the mixer,
+     * before the mixer thread is started, so a missing output is reported to that caller.
+     * @param format the format of the mixed sound.
+     * @param bufferBytes the size of the buffers the mixer writes.
+     * @throws LineUnavailableException if the output can't be opened.
+     */
+    void open(AudioFormat format, int bufferBytes) throws LineUnavailableException;
+
+    /**
+     * Writes a mixed buffer. Blocks until the output can take more, which is what paces the mixer.
+     * @param buffer the mixed sound in the format given to {@link #open(AudioFormat, int)}.
+     * @param length the number of bytes to write.
+     */
+    void write(byte[] buffer, int length);
+
+    /**
+     * Closes the output. Called once by the mixer thread when it stops.
+     */
+    void close();
+}
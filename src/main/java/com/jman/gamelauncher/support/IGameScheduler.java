@@ -0,0 +1,56 @@
+package com.jman.gamelauncher.support;
+
+/**
+ * The clock and timer the game logic uses for everything that happens after a delay, like booster
+ * cool downs and the end of a speed boost.
+ *
+ * <p>Every game runs on a {@link TimerWheel} that is advanced tick by tick, both in the launcher and
+ * headless. Going through this interface keeps the game logic apart from how the clock is advanced.</p>
+ *
+ * @author Joel Lansgren
+ */
+public interface IGameScheduler {
+    /**
+     * A handle to a scheduled task that can be used to cancel it.
+     */
+    interface Task {
+        /**
+         * Cancels the task. A task that is already running is allowed to finish.
+         */
+        void cancel();
+
+        /**
+         * Checks if the task has run, or has been cancelled.
+         * @return {@code true} if the task won't run again, {@code false} otherwise.
+         */
+        boolean isDone();
+    }
+
+    /**
+     * Runs a task once after a delay.
+     * @param task the task to run.
+     * @param delay the delay in milliseconds.
+     * @return a handle to the scheduled task.
+     */
+    Task schedule(Runnable task, long delay);
+
+    /**
+     * Runs a task repeatedly, first after the initial delay and then once every period.
+     * @param task the task to run.
+     * @param initialDelay the delay before the first run in milliseconds.
+     * @param period the time between two runs in milliseconds.
+     * @return a handle to the scheduled task.
+     */
+    Task scheduleAtFixedRate(Runnable task, long initialDelay, long period);
+
+    /**
+     * Returns the current time of the scheduler's clock.
+     * @return the time in milliseconds.
+     */
+    long currentTimeMillis();
+
+    /**
+     * Cancels every scheduled task and releases the resources of the scheduler.
+     */
+    void shutdown();
+}
@@ -0,0 +1,33 @@
+package com.jman.gamelauncher.support;
+
+/**
+ * Loads and plays the sound effects of a game.
+ *
+ * <p>The game logic only talks to this interface, so a game can be given the {@link AudioManager}
+ * when it runs in the launcher and the {@link #SILENT} player when it runs headless, where no audio
+ * device should be touched.</p>
+ *
+ * @author Joel Lansgren
+ */
+public interface ISoundEffectPlayer {
+    /** A player that ignores every sound effect. */
+    ISoundEffectPlayer SILENT = new ISoundEffectPlayer() {
+        @Override
+        public void queueSoundEffect(final String soundEffect) { }
+
+        @Override
+        public void playSoundEffect(final String soundEffect) { }
+    };
+
+    /**
+     * Queues a sound effect for preloading.
+     * @param soundEffect the last part of the path to the sound file.
+     */
+    void queueSoundEffect(String soundEffect);
+
+    /**
+     * Plays a preloaded sound effect.
+     * @param soundEffect the key identifying the sound effect to be played.
+     */
+    void playSoundEffect(String soundEffect);
+}
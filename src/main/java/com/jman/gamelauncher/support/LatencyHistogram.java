@@ -0,0 +1,141 @@
+package com.jman.gamelauncher.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size histogram of durations in nanoseconds, laid out like HdrHistogram: every power of two is
+ * split into the same number of linear sub-buckets, so every recorded value is kept with about 3 % precision
+ * from a nanosecond up to about 18 minutes, in a little over a thousand counters.
+ *
+ * <p>Recording is lock-free and allocation-free, so it can sit on the tick and render paths, and any thread
+ * can record and query at the same time. A query made while values are being recorded may miss the values
+ * recorded meanwhile, which is fine for monitoring.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /*==============================
+    * Recording
+    ==============================*/
+
+    /**
+     * Records a duration. Negative durations count as 0 and too long ones as the longest that can be recorded.
+     * @param nanos the duration in nanoseconds.
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, Math.min(nanos, MAX_VALUE));
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Records the time that has passed since a start time.
+     * @param startNanos the start time, from {@link System#nanoTime()}.
+     */
+    public void recordSince(final long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    /*==============================
+    * Queries
+    ==============================*/
+
+    /**
+     * Gets the number of recorded values.
+     * @return the count.
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     * @return the mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double getMeanNanos() {
+        final long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalNanos.get() / count;
+    }
+
+    /**
+     * Gets the largest recorded value, exactly.
+     * @return the max in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets the value that the given percentage of the recorded values are less than or equal to.
+     * @param percentile the percentile, from 0 to 100, such as 99 for p99.
+     * @return the upper bound of the bucket the percentile falls in, in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentileNanos(final double percentile) {
+        final long count = totalCount.get();
+        if (count == 0) { return 0; }
+
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(lowestValueAt(i + 1) - 1, maxNanos.get());
+            }
+        }
+        return maxNanos.get(); // Values recorded while we were counting.
+    }
+
+    /*==============================
+    * Buckets
+    ==============================*/
+
+    /**
+     * Helper method that finds the bucket of a value. The values below two sub-bucket counts get a bucket each,
+     * above that every power of two is split into {@value #SUB_BUCKET_COUNT} equally wide buckets.
+     * @param value the value, from 0 to {@link #MAX_VALUE}.
+     * @return the index of the bucket.
+     */
+    private static int indexOf(final long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) { return (int) value; }
+
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * Helper method that finds the lowest value that falls in a bucket, the inverse of {@link #indexOf(long)}.
+     * @param index the index of the bucket.
+     * @return the lowest value of the bucket.
+     */
+    private static long lowestValueAt(final int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) { return index; }
+
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        return (long) (index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT) << shift;
+    }
+}
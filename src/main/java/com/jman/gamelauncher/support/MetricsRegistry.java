@@ -0,0 +1,108 @@
+package com.jman.gamelauncher.support;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A singleton registry of the latency histograms the application records while it runs.
+ *
+ * <p>The histograms are always recorded, not only in debug mode, since recording is cheap enough for the
+ * tick and render paths. They can be queried at any time with {@link #histogram(String)} and
+ * {@link #report()}, and the snake game dumps them to the file set with
+ * {@code -Dgamelauncher.metricsFile=<file>} at every game over.</p>
+ *
+ * @author Joel Lansgren
+ */
+public enum MetricsRegistry {
+    /**
+     * Singleton instance of the MetricsRegistry enum.
+     */
+    INSTANCE;
+
+    /** The time it takes to dispatch an event on the EDT. */
+    public static final String EDT_DISPATCH = "edt.dispatch";
+
+    /** The time a snake tick spends in the model. */
+    public static final String SNAKE_TICK = "snake.tick";
+
+    /** The time it takes to render the changes of a frame in the snake view. */
+    public static final String SNAKE_RENDER = "snake.render";
+
+    /** How far the time between two snake ticks is off from the requested delay. */
+    public static final String SNAKE_TICK_JITTER = "snake.tick.jitter";
+
+    private static final double[] REPORTED_PERCENTILES = {50, 90, 99, 99.9};
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+
+    /*==============================
+    * Histograms
+    ==============================*/
+
+    /**
+     * Gets the histogram with the given name, and creates it the first time it's asked for.
+     * Callers on a hot path should look it up once and keep the reference.
+     * @param name the name of the histogram, such as {@link #SNAKE_TICK}.
+     * @return the histogram.
+     */
+    public LatencyHistogram histogram(final String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Forgets the values recorded in every histogram.
+     */
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /*==============================
+    * Reporting
+    ==============================*/
+
+    /**
+     * Formats every histogram as a row of a table, with the count, mean, percentiles and max in milliseconds.
+     * @return the table, sorted by name.
+     */
+    public String report() {
+        final StringBuilder report = new StringBuilder(String.format("%-20s %10s %9s", "metric", "count", "mean"));
+        for (final double percentile : REPORTED_PERCENTILES) {
+            final String label = percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile);
+            report.append(String.format(" %9s", "p" + label));
+        }
+        report.append(String.format(" %9s  (ms)%n", "max"));
+
+        histograms.forEach((name, histogram) -> {
+            report.append(String.format(
+                "%-20s %10d %9.3f", name, histogram.getCount(), histogram.getMeanNanos() / NANOS_PER_MILLI
+            ));
+            for (final double percentile : REPORTED_PERCENTILES) {
+                report.append(String.format(" %9.3f", histogram.getPercentileNanos(percentile) / NANOS_PER_MILLI));
+            }
+            report.append(String.format(" %9.3f%n", histogram.getMaxNanos() / NANOS_PER_MILLI));
+        });
+        return report.toString();
+    }
+
+    /**
+     * Writes the report to the metrics file, if one was set with {@code -Dgamelauncher.metricsFile=<file>}.
+     * The file is replaced each time, and the histograms keep counting since the start of the application.
+     */
+    public void dumpIfEnabled() {
+        if (AppConfigLauncher.METRICS_FILE == null) { return; }
+
+        try {
+            Files.writeString(
+                Path.of(AppConfigLauncher.METRICS_FILE), "# " + Instant.now() + System.lineSeparator() + report(),
+                StandardCharsets.UTF_8
+            );
+        } catch (final IOException e) {
+            DebugLogger.INSTANCE.logException(e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.jman.gamelauncher.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+/**
+ * A bank of sounds that are already decoded into the samples the {@link AudioMixer} plays, packed into
+ * one file that is memory-mapped as a whole. Getting a sound from the bank only slices the mapped file,
+ * so there is nothing to parse or decode and the samples are never copied onto the heap.
+ *
+ * <p>The bank is built from the sound files at build time by {@link #main(String[])}. The binary format is
+ * a magic number and a version, the length of the index and the index itself, followed by the samples.
+ * The index holds the sample rate and channels of the samples, the number of sounds and, for each sound,
+ * its file name and where its samples are, as a byte offset into the samples and a length in samples.
+ * The header is big-endian, as written by {@link DataOutputStream}, while the samples are 16-bit
+ * little-endian, as the mixer plays them.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class SoundBank {
+    private static final int MAGIC = 0x534E4442; // "SNDB"
+    private static final byte VERSION = 1;
+    // The magic number, the version and the length of the index.
+    private static final int PREAMBLE_BYTES = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+    private final Map<String, ShortBuffer> sounds;
+
+    /**
+     * Constructs a bank of mapped sounds.
+     * @param sounds the samples of each sound by file name.
+     */
+    private SoundBank(final Map<String, ShortBuffer> sounds) {
+        this.sounds = sounds;
+    }
+
+    /**
+     * Gets the samples of a sound. The buffer is read-only and shared, so it must be read with absolute reads.
+     * @param soundFile the file name of the sound, the last part of the path to the sound file.
+     * @return the interleaved stereo samples in {@link AudioMixer#FORMAT}, or null if the sound isn't in the bank.
+     */
+    public ShortBuffer get(final String soundFile) {
+        return sounds.get(soundFile);
+    }
+
+    /**
+     * Gets the number of sounds in the bank.
+     * @return the number of sounds.
+     */
+    public int size() {
+        return sounds.size();
+    }
+
+    /*==============================
+    * Reading
+    ==============================*/
+
+    /**
+     * Opens a bank on the classpath. A bank in a directory is mapped where it is, while a bank inside a JAR
+     * is first copied to a temporary file, since an entry of a JAR can't be mapped.
+     * @param resource the absolute path to the bank on the classpath.
+     * @return the bank, or null if there is no bank on the classpath.
+     * @throws IOException if the bank can't be read or isn't a valid bank.
+     */
+    public static SoundBank openResource(final String resource) throws IOException {
+        final URL url = SoundBank.class.getResource(resource);
+        if (url == null) { return null; }
+
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return map(Path.of(url.toURI()));
+            } catch (final URISyntaxException e) {
+                throw new IOException("Invalid sound bank location: " + url, e);
+            }
+        }
+
+        final Path copy = Files.createTempFile("gamelauncher-", ".bank");
+        copy.toFile().deleteOnExit();
+        try (InputStream in = url.openStream()) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return map(copy);
+    }
+
+    /**
+     * Maps a bank file. The mapping stays valid after this method returns, for as long as the bank is used.
+     * @param file the bank file.
+     * @return the bank.
+     * @throws IOException if the file can't be read or isn't a valid bank.
+     */
+    public static SoundBank map(final Path file) throws IOException {
+        final MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.capacity() < PREAMBLE_BYTES || mapped.getInt() != MAGIC) {
+            throw new IOException("Not a sound bank: " + file);
+        }
+        final byte version = mapped.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported sound bank version: " + version);
+        }
+        final int indexBytes = mapped.getInt();
+        if (indexBytes < 0 || indexBytes > mapped.remaining()) {
+            throw new IOException("Corrupt sound bank, index length: " + indexBytes);
+        }
+
+        final byte[] index = new byte[indexBytes];
+        mapped.get(index);
+        return new SoundBank(readIndex(new DataInputStream(new ByteArrayInputStream(index)), mapped));
+    }
+
+    /**
+     * Helper method that reads the index and slices the samples of each sound out of the mapped file.
+     * @param in the index.
+     * @param mapped the mapped file, positioned at the first sample.
+     * @return the samples of each sound by file name.
+     * @throws IOException if the index is corrupt or doesn't match the mixer's format.
+     */
+    private static Map<String, ShortBuffer> readIndex(
+        final DataInputStream in, final ByteBuffer mapped
+    ) throws IOException {
+        final int sampleRate = in.readInt();
+        final int channels = in.readInt();
+        if (sampleRate != (int) AudioMixer.FORMAT.getSampleRate() || channels != AudioMixer.FORMAT.getChannels()) {
+            throw new IOException("Sound bank format doesn't match the mixer: " + sampleRate + " Hz, " + channels);
+        }
+
+        final int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Corrupt sound bank, negative sound count: " + count);
+        }
+        final int dataStart = mapped.position();
+        final Map<String, ShortBuffer> sounds = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            final String name = in.readUTF();
+            final int offset = in.readInt();
+            final int length = in.readInt();
+            if (offset < 0 || length < 0 || (long) offset + (long) Short.BYTES * length > mapped.limit() - dataStart) {
+                throw new IOException("Corrupt sound bank, " + name + " is out of bounds");
+            }
+            // A slice is big-endian whatever its parent is, so the order is set on the slice.
+            sounds.put(name, mapped.slice(dataStart + offset, Short.BYTES * length)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asShortBuffer());
+        }
+        return Map.copyOf(sounds);
+    }
+
+    /*==============================
+    * Writing
+    ==============================*/
+
+    /**
+     * Writes a bank.
+     * @param sounds the samples of each sound by file name, interleaved stereo in {@link AudioMixer#FORMAT}.
+     * @param outputStream where the bank is written. It's flushed but not closed.
+     * @throws IOException if the bank can't be written.
+     */
+    public static void write(final Map<String, short[]> sounds, final OutputStream outputStream) throws IOException {
+        final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        final DataOutputStream index = new DataOutputStream(indexBytes);
+        index.writeInt((int) AudioMixer.FORMAT.getSampleRate());
+        index.writeInt(AudioMixer.FORMAT.getChannels());
+        index.writeInt(sounds.size());
+        int offset = 0;
+        for (final Map.Entry<String, short[]> sound : sounds.entrySet()) {
+            index.writeUTF(sound.getKey());
+            index.writeInt(offset);
+            index.writeInt(sound.getValue().length);
+            offset = Math.addExact(offset, Short.BYTES * sound.getValue().length);
+        }
+
+        final DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(indexBytes.size());
+        indexBytes.writeTo(out);
+        for (final short[] samples : sounds.values()) {
+            final ByteBuffer bytes = ByteBuffer.allocate(Short.BYTES * samples.length).order(ByteOrder.LITTLE_ENDIAN);
+            bytes.asShortBuffer().put(samples);
+            out.write(bytes.array());
+        }
+        out.flush();
+    }
+
+    /**
+     * Builds a bank out of every WAV file in a directory. Run by the build, after the classes are compiled.
+     * @param args the directory of the sound files, and the bank file to write.
+     * @throws Exception if a sound can't be decoded or the bank can't be written.
+     */
+    public static void main(final String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: SoundBank <sounds directory> <bank file>");
+            System.exit(2);
+        }
+
+        final File[] soundFiles = new File(args[0]).listFiles((dir, name) -> name.endsWith(".wav"));
+        if (soundFiles == null) {
+            throw new IOException("Not a directory: " + args[0]);
+        }
+        Arrays.sort(soundFiles);
+
+        final Map<String, short[]> sounds = new LinkedHashMap<>();
+        for (final File soundFile : soundFiles) {
+            try (AudioInputStream audioStream = AudioSystem.getAudioInputStream(soundFile)) {
+                sounds.put(soundFile.getName(), AudioMixer.decode(audioStream));
+            }
+        }
+
+        final Path bank = Path.of(args[1]);
+        Files.createDirectories(bank.toAbsolutePath().getParent());
+        try (OutputStream out = Files.newOutputStream(bank)) {
+            write(sounds, out);
+        }
+        System.out.println("Packed " + sounds.size() + " sounds into " + bank);
+    }
+}
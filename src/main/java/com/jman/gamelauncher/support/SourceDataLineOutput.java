@@ -0,0 +1,37 @@
+package com.jman.gamelauncher.support;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * An {@link IAudioOutput} on the default sound card, through a single {@link SourceDataLine}
+ * that stays open for as long as the mixer runs.
+ *
+ * @author Joel Lansgren
+ */
+public final class SourceDataLineOutput implements IAudioOutput {
+    private SourceDataLine line;
+
+    @Override
+    public void open(final AudioFormat format, final int bufferBytes) throws LineUnavailableException {
+        line = AudioSystem.getSourceDataLine(format);
+        // Room for two mixed buffers, one playing and one being written, keeps the latency low.
+        line.open(format, 2 * bufferBytes);
+        line.start();
+    }
+
+    @Override
+    public void write(final byte[] buffer, final int length) {
+        line.write(buffer, 0, length);
+    }
+
+    @Override
+    public void close() {
+        if (line != null) {
+            line.stop();
+            line.close();
+        }
+    }
+}
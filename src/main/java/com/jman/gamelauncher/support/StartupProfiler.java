@@ -0,0 +1,143 @@
+package com.jman.gamelauncher.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A singleton profiler for the startup of the launcher, from the start of the JVM to the first paint of the frame
+ * and the first game tick.
+ *
+ * <p>The launcher marks the milestones of its startup, such as entering {@code main} and the first paint,
+ * and measures how long each phase in between takes, such as loading the games or building each view.
+ * Milestones are reported as the time since the JVM started, phases as their duration together with the
+ * thread they ran on. Recording is always on since it's only a handful of entries.</p>
+ *
+ * <p>The report is logged at the first paint when the launcher runs with
+ * {@code -Dgamelauncher.startupProfiler=true} or in debug mode, and can also be read with {@link #report()}.
+ * In a startup benchmark ({@link AppConfigLauncher#STARTUP_BENCHMARK}) the time to the first paint and to
+ * the first game tick are printed on one line instead, and the launcher exits at the first game tick.</p>
+ *
+ * @author Joel Lansgren
+ */
+public enum StartupProfiler {
+    /**
+     * Singleton instance of the StartupProfiler enum.
+     */
+    INSTANCE;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    // The JVM start in nanoTime, so every entry is measured with the same clock.
+    private final long jvmStartNanos = System.nanoTime() - Duration.between(
+        ProcessHandle.current().info().startInstant().orElseGet(Instant::now), Instant.now()
+    ).toNanos();
+    private final List<Entry> entries = new ArrayList<>(); // Guarded by the monitor of the profiler.
+    private long firstPaintNanos; // 0 until the first paint.
+    private long firstGameTickNanos; // 0 until the first game tick.
+
+    /**
+     * A milestone or a phase of the startup.
+     * @param name what happened.
+     * @param startNanos when it started, in nanoTime.
+     * @param durationNanos how long it took, 0 for a milestone.
+     * @param thread the thread it ran on.
+     */
+    private record Entry(String name, long startNanos, long durationNanos, String thread) { }
+
+    /*==============================
+    * Recording
+    ==============================*/
+
+    /**
+     * Marks a milestone of the startup at the current time.
+     * @param milestone what was reached.
+     */
+    public synchronized void mark(final String milestone) {
+        entries.add(new Entry(milestone, System.nanoTime(), 0, Thread.currentThread().getName()));
+    }
+
+    /**
+     * Runs a phase of the startup and records how long it took.
+     * @param <T> the type of what the phase builds.
+     * @param phase the name of the phase.
+     * @param build the phase.
+     * @return what the phase built.
+     */
+    public <T> T measure(final String phase, final Supplier<T> build) {
+        final long start = System.nanoTime();
+        final T built = build.get();
+        final long duration = System.nanoTime() - start;
+        synchronized (this) {
+            entries.add(new Entry(phase, start, duration, Thread.currentThread().getName()));
+        }
+        return built;
+    }
+
+    /**
+     * Marks the first paint of the launcher, which ends the startup, and logs the report if it's enabled.
+     * Later calls do nothing.
+     */
+    public void firstPaint() {
+        synchronized (this) {
+            if (firstPaintNanos != 0) { return; }
+            firstPaintNanos = System.nanoTime();
+        }
+        mark("First paint");
+        if (
+            (Boolean.getBoolean("gamelauncher.startupProfiler") || AppConfigLauncher.DEBUG_MODE)
+            && DebugLogger.INSTANCE.isEnabled(DebugLogger.Level.INFO)
+        ) {
+            DebugLogger.INSTANCE.logInfo("Startup profile%n%s", report());
+        }
+    }
+
+    /**
+     * Marks the first tick of the first game, called by the {@link GameLoop} at the first tick of every session.
+     * In a startup benchmark it prints the startup times and exits the launcher, later calls do nothing.
+     */
+    public void firstGameTick() {
+        final double firstPaintMillis;
+        final double firstGameTickMillis;
+        synchronized (this) {
+            if (firstGameTickNanos != 0) { return; }
+            firstGameTickNanos = System.nanoTime();
+            firstPaintMillis = (firstPaintNanos - jvmStartNanos) / NANOS_PER_MILLI;
+            firstGameTickMillis = (firstGameTickNanos - jvmStartNanos) / NANOS_PER_MILLI;
+        }
+        mark("First game tick");
+        if (AppConfigLauncher.STARTUP_BENCHMARK) {
+            // One line in a fixed format, parsed by the startup benchmark script.
+            System.out.printf("startup firstFrameMs=%.1f firstTickMs=%.1f%n", firstPaintMillis, firstGameTickMillis);
+            System.exit(0);
+        }
+    }
+
+    /*==============================
+    * Report
+    ==============================*/
+
+    /**
+     * Creates a report of the startup in the order it happened: when each milestone was reached and each phase
+     * started, counted from the JVM start, and how long each phase took.
+     * @return the report.
+     */
+    public synchronized String report() {
+        final StringBuilder report = new StringBuilder(String.format(
+            "%10s %10s  %-32s %s  (ms)%n", "at", "took", "phase", "thread"
+        ));
+        report.append(String.format("%10.1f %10s  %-32s%n", 0.0, "", "JVM start"));
+
+        final List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort((first, second) -> Long.compare(first.startNanos(), second.startNanos()));
+        for (final Entry entry : sorted) {
+            report.append(String.format(
+                "%10.1f %10s  %-32s %s%n",
+                (entry.startNanos() - jvmStartNanos) / NANOS_PER_MILLI,
+                entry.durationNanos() == 0 ? "" : String.format("%.1f", entry.durationNanos() / NANOS_PER_MILLI),
+                entry.name(), entry.thread()
+            ));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.jman.gamelauncher.support;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * An {@link IAudioOutput} that writes the raw mixed PCM bytes to a stream, such as a file.
+ * Nothing paces the writes, so the mixer produces sound as fast as it can. It's meant for capturing
+ * and checking the mixer's output, not for listening.
+ *
+ * @author Joel Lansgren
+ */
+public final class StreamAudioOutput implements IAudioOutput {
+    private final OutputStream stream;
+
+    /**
+     * Constructs an output on a stream. The stream is closed when the output is.
+     * @param stream the stream the PCM bytes are written to.
+     */
+    public StreamAudioOutput(final OutputStream stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void open(final AudioFormat format, final int bufferBytes) { }
+
+    @Override
+    public void write(final byte[] buffer, final int length) {
+        try {
+            stream.write(buffer, 0, length);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            stream.close();
+        } catch (final IOException e) {
+            DebugLogger.INSTANCE.logException(e);
+        }
+    }
+}
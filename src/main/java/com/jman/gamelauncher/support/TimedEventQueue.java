@@ -5,8 +5,9 @@ import java.awt.EventQueue;
 
 /**
  * TimedEventQueue is a custom implementation of the EventQueue class that measures
- * the time taken to dispatch events. It logs the duration of any event that takes
- * longer than 50 milliseconds to process.
+ * the time taken to dispatch events. Every dispatch is recorded in the
+ * {@link MetricsRegistry#EDT_DISPATCH} histogram, and handed to the {@link EdtProfiler}
+ * while it's enabled.
  *
  * <p>
  * This class can be useful for profiling the performance of GUI event handling in
@@ -15,19 +16,31 @@ import java.awt.EventQueue;
  *
  * <p>
  * It overrides the {@link #dispatchEvent(AWTEvent)} method to calculate the time
- * taken for each event and logs the duration if it exceeds the specified threshold.
+ * taken for each event. It also listens for the key that toggles the profiler.
  * </p>
  *
  * @author Joel Lansgren
  */
 public class TimedEventQueue extends EventQueue {
+    private final LatencyHistogram dispatchTimes = MetricsRegistry.INSTANCE.histogram(MetricsRegistry.EDT_DISPATCH);
+    private final EdtProfiler profiler = EdtProfiler.INSTANCE;
+
     @Override
     protected void dispatchEvent(final AWTEvent event) {
+       if (profiler.isToggleKey(event)) {
+         profiler.toggle();
+       }
+
+       final boolean isProfiling = profiler.isEnabled(); // A single volatile read when the profiler is off.
+       if (isProfiling) {
+         profiler.beginDispatch();
+       }
        final long startTime = System.nanoTime();
        super.dispatchEvent(event);
        final long duration = System.nanoTime() - startTime;
-       if (duration > 50000000) {  // longer than 50ms
-         System.out.println((duration * .000001) + "ms: " + event);
+       dispatchTimes.record(duration);
+       if (isProfiling) {
+         profiler.endDispatch(event, duration);
        }
     }
 }
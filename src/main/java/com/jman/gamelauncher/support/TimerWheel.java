@@ -0,0 +1,281 @@
+package com.jman.gamelauncher.support;
+
+/**
+ * The game clock: a hierarchical timer wheel that owns every timed event of a game, like the booster spawns,
+ * the booster cool downs and the end of a speed boost, and that only moves when {@link #advance(long)} is called.
+ *
+ * <p>The game advances the wheel by the tick delay after every tick, so the timed events follow the game's
+ * own time and pause exactly when the game does, whether it runs in the launcher or headless. Nothing runs in
+ * the background: the tasks that become due while the wheel is advanced run on the calling thread, in the order
+ * they are due and in the order they were scheduled when due at the same time. So a game behaves the same every
+ * time, and a headless game runs as fast as the CPU allows.</p>
+ *
+ * <p>The wheel has four levels of 64 slots. A slot of the first level holds the tasks
+ * due in one millisecond, a slot of every level above spans a whole turn of the level below. A task is put in
+ * the lowest level whose turn it's due in, and is moved down a level each time the clock enters its slot,
+ * so scheduling and cancelling take constant time whatever the number of tasks. Tasks due further away than
+ * the top level reaches, about 4.6 hours, wait in an overflow slot that is sorted again every top-level slot.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class TimerWheel implements IGameScheduler {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int OVERFLOW = LEVELS * SLOTS; // The index of the overflow slot.
+    private static final int UNLINKED = -1;
+    // The slots of every level after each other, then the overflow slot. Each slot is a linked list of tasks.
+    private final WheelTask[] heads = new WheelTask[OVERFLOW + 1];
+    private final WheelTask[] tails = new WheelTask[OVERFLOW + 1];
+    // Bit i is set while slot i of the first level holds a task, so the clock can skip the empty slots.
+    private long occupiedSlots;
+    private long now;
+    private long sequence;
+    private int pending;
+
+    /*==============================
+    * Scheduling
+    ==============================*/
+
+    @Override
+    public synchronized Task schedule(final Runnable task, final long delay) {
+        return enqueue(new WheelTask(task, 0), now + Math.max(0, delay));
+    }
+
+    @Override
+    public synchronized Task scheduleAtFixedRate(final Runnable task, final long initialDelay, final long period) {
+        return enqueue(new WheelTask(task, Math.max(1, period)), now + Math.max(0, initialDelay));
+    }
+
+    /**
+     * Helper method that puts a task in the wheel. Must be called while holding the monitor.
+     * @param task the task to run.
+     * @param time the time the task is due.
+     * @return the task.
+     */
+    private WheelTask enqueue(final WheelTask task, final long time) {
+        task.time = time;
+        task.order = sequence++;
+        link(task);
+        pending++;
+        return task;
+    }
+
+    /**
+     * Moves the clock forward and runs every task that becomes due on the way.
+     * Tasks that are scheduled by a running task also run if they become due within the same advance.
+     * @param millis how far to move the clock in milliseconds.
+     */
+    public void advance(final long millis) {
+        final long target;
+        synchronized (this) {
+            target = now + Math.max(0, millis);
+        }
+
+        WheelTask task;
+        while ((task = pollDue(target)) != null) {
+            task.task.run(); // Runs outside the monitor, since the task may schedule or cancel tasks.
+        }
+    }
+
+    /**
+     * Helper method that turns the wheel until a task is due at the current time, or the target time is reached.
+     * The slot of the current time is checked first, since tasks without a delay may have been scheduled since the
+     * last advance. From there the clock skips to the next slot of the first level that holds a task, but stops at
+     * the end of each turn to move the tasks of the levels above down. A periodic task is put back for its next run.
+     * @param target the time the clock is advanced to.
+     * @return the next due task, or {@code null} if no task is due.
+     */
+    private synchronized WheelTask pollDue(final long target) {
+        while (true) {
+            if (pending == 0) { // Nothing to wait for, so the clock can skip to the target.
+                now = Math.max(now, target);
+                return null;
+            }
+
+            final WheelTask task = heads[(int) (now & SLOT_MASK)];
+            if (task != null) {
+                unlink(task);
+                pending--;
+                if (task.period > 0) {
+                    enqueue(task, now + task.period);
+                } else {
+                    task.done = true;
+                }
+                return task;
+            }
+            if (now >= target) { return null; }
+
+            final long later = occupiedSlots & (-2L << (now & SLOT_MASK)); // The occupied slots after the current.
+            final long next = later != 0
+                ? (now & ~SLOT_MASK) + Long.numberOfTrailingZeros(later)
+                : (now | SLOT_MASK) + 1;
+            now = Math.min(next, target);
+            if ((now & SLOT_MASK) == 0) {
+                cascade();
+            }
+        }
+    }
+
+    /**
+     * Helper method that moves the tasks of the slots the clock has just entered down to the levels below,
+     * starting from the highest level so a task can fall several levels at once.
+     */
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((now & ((1L << SLOT_BITS * level) - 1)) == 0) {
+                if (level == LEVELS - 1) {
+                    relink(OVERFLOW);
+                }
+                relink(level * SLOTS + (int) ((now >>> SLOT_BITS * level) & SLOT_MASK));
+            }
+        }
+    }
+
+    /*==============================
+    * Slots
+    ==============================*/
+
+    /**
+     * Helper method that puts a task in the slot it belongs to at the current time: the lowest level
+     * where the task is due in the current turn of the level above. The tasks of a slot are kept in the order
+     * they were scheduled, and since a new task is always the last one, it's added in constant time.
+     * @param task the task.
+     */
+    private void link(final WheelTask task) {
+        final long differingBits = task.time ^ now;
+        int slot = OVERFLOW;
+        for (int level = 0; level < LEVELS; level++) {
+            if (differingBits >>> SLOT_BITS * (level + 1) == 0) {
+                slot = level * SLOTS + (int) ((task.time >>> SLOT_BITS * level) & SLOT_MASK);
+                break;
+            }
+        }
+
+        WheelTask after = tails[slot];
+        while (after != null && after.order > task.order) { // Only tasks moved down a level go back.
+            after = after.previous;
+        }
+        task.slot = slot;
+        if (slot < SLOTS) {
+            occupiedSlots |= 1L << slot;
+        }
+        task.previous = after;
+        task.next = after == null ? heads[slot] : after.next;
+        if (task.next == null) {
+            tails[slot] = task;
+        } else {
+            task.next.previous = task;
+        }
+        if (after == null) {
+            heads[slot] = task;
+        } else {
+            after.next = task;
+        }
+    }
+
+    /**
+     * Helper method that takes a task out of its slot.
+     * @param task the task, which must be in a slot.
+     */
+    private void unlink(final WheelTask task) {
+        if (task.previous == null) {
+            heads[task.slot] = task.next;
+            if (task.next == null && task.slot < SLOTS) {
+                occupiedSlots &= ~(1L << task.slot);
+            }
+        } else {
+            task.previous.next = task.next;
+        }
+        if (task.next == null) {
+            tails[task.slot] = task.previous;
+        } else {
+            task.next.previous = task.previous;
+        }
+        task.previous = null;
+        task.next = null;
+        task.slot = UNLINKED;
+    }
+
+    /**
+     * Helper method that empties a slot above the first level and puts each of its tasks where it belongs
+     * at the current time.
+     * @param slot the slot.
+     */
+    private void relink(final int slot) {
+        WheelTask task = heads[slot];
+        heads[slot] = null;
+        tails[slot] = null;
+        while (task != null) {
+            final WheelTask next = task.next;
+            task.previous = null;
+            task.next = null;
+            link(task);
+            task = next;
+        }
+    }
+
+    /*==============================
+    * Clock
+    ==============================*/
+
+    @Override
+    public synchronized long currentTimeMillis() {
+        return now;
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        for (int slot = 0; slot < heads.length; slot++) {
+            while (heads[slot] != null) {
+                final WheelTask task = heads[slot];
+                task.cancelled = true;
+                unlink(task);
+            }
+        }
+        pending = 0;
+    }
+
+    /**
+     * A task in the wheel. A periodic task stays the same task for all its runs, so cancelling it stops them all.
+     */
+    private final class WheelTask implements Task {
+        private final Runnable task;
+        private final long period;
+        // Guarded by the monitor of the wheel.
+        private long time;
+        private long order;
+        private int slot = UNLINKED;
+        private WheelTask previous;
+        private WheelTask next;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+
+        /**
+         * Constructs a task that isn't in the wheel yet.
+         * @param task the task to run.
+         * @param period the time between two runs, or 0 if the task only runs once.
+         */
+        private WheelTask(final Runnable task, final long period) {
+            this.task = task;
+            this.period = period;
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (TimerWheel.this) {
+                cancelled = true;
+                if (slot != UNLINKED) {
+                    unlink(this);
+                    pending--;
+                }
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            return cancelled || done;
+        }
+    }
+}
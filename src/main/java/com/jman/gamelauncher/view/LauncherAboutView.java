@@ -5,7 +5,6 @@ import java.awt.GridBagLayout;
 
 import javax.swing.JLabel;
 import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
 
 import com.jman.gamelauncher.support.AppConfig;
 
@@ -29,45 +28,43 @@ public class LauncherAboutView implements IView {
     private int backBtnPosition;
 
     /**
-     * This constructs the AboutView on the EDT
+     * This constructs the AboutView. Must be called on the EDT.
      */
     public LauncherAboutView() {
-        SwingUtilities.invokeLater(() -> {
-            mainPanel.setLayout(new GridBagLayout());
-            mainPanel.setBackground(AppConfig.COLOR_DARKER_GREY);
-
-            // Initiates components
-            labelStyling(instructionsHeading, AppConfig.TEXT_HEADING_1);
-            labelStyling(instructionsSelectGame, AppConfig.TEXT_SIZE_NORMAL);
-            labelStyling(instructionsExit, AppConfig.TEXT_SIZE_NORMAL);
-            labelStyling(instructionsAbout, AppConfig.TEXT_SIZE_NORMAL);
-            labelStyling(instructionsEnjoy, AppConfig.TEXT_SIZE_NORMAL);
-            labelStyling(instructionsSmiley, AppConfig.TEXT_HEADING_2);
-
-            // Adds and place the components on the grid.
-            gbc.gridx = 0;
-            gbc.gridy = 0;
-            gbc.insets = AppConfig.INSET_BOTTOM_20;
-            mainPanel.add(instructionsHeading, gbc);
-
-            gbc.gridy++;
-            mainPanel.add(instructionsSelectGame, gbc);
-
-            gbc.gridy++;
-            mainPanel.add(instructionsExit, gbc);
-
-            gbc.gridy++;
-            mainPanel.add(instructionsAbout, gbc);
-
-            gbc.gridy++;
-            mainPanel.add(instructionsEnjoy, gbc);
-
-            gbc.gridy++;
-            gbc.insets = AppConfig.INSET_BOTTOM_30;
-            mainPanel.add(instructionsSmiley, gbc);
-
-            backBtnPosition = gbc.gridy + 1;
-        });
+        mainPanel.setLayout(new GridBagLayout());
+        mainPanel.setBackground(AppConfig.COLOR_DARKER_GREY);
+
+        // Initiates components
+        labelStyling(instructionsHeading, AppConfig.TEXT_HEADING_1);
+        labelStyling(instructionsSelectGame, AppConfig.TEXT_SIZE_NORMAL);
+        labelStyling(instructionsExit, AppConfig.TEXT_SIZE_NORMAL);
+        labelStyling(instructionsAbout, AppConfig.TEXT_SIZE_NORMAL);
+        labelStyling(instructionsEnjoy, AppConfig.TEXT_SIZE_NORMAL);
+        labelStyling(instructionsSmiley, AppConfig.TEXT_HEADING_2);
+
+        // Adds and place the components on the grid.
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.insets = AppConfig.INSET_BOTTOM_20;
+        mainPanel.add(instructionsHeading, gbc);
+
+        gbc.gridy++;
+        mainPanel.add(instructionsSelectGame, gbc);
+
+        gbc.gridy++;
+        mainPanel.add(instructionsExit, gbc);
+
+        gbc.gridy++;
+        mainPanel.add(instructionsAbout, gbc);
+
+        gbc.gridy++;
+        mainPanel.add(instructionsEnjoy, gbc);
+
+        gbc.gridy++;
+        gbc.insets = AppConfig.INSET_BOTTOM_30;
+        mainPanel.add(instructionsSmiley, gbc);
+
+        backBtnPosition = gbc.gridy + 1;
     }
 
     /*=====================
@@ -5,7 +5,6 @@ import java.awt.GridBagLayout;
 
 import javax.swing.JLabel;
 import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
 
 import com.jman.gamelauncher.support.AppConfig;
 
@@ -25,32 +24,30 @@ public class LauncherComingSoonView implements IView {
     private final JLabel comingSoonSmiley = new JLabel("┐(￣ヘ￣)┌");
     private int backBtnPosition;
 
-    /** This constructs the ComingSoonGameView on the EDT */
+    /** This constructs the ComingSoonGameView. Must be called on the EDT. */
     public LauncherComingSoonView() {
-        SwingUtilities.invokeLater(() -> {
-            mainPanel.setLayout(new GridBagLayout());
-            mainPanel.setBackground(AppConfig.COLOR_DARKER_GREY);
+        mainPanel.setLayout(new GridBagLayout());
+        mainPanel.setBackground(AppConfig.COLOR_DARKER_GREY);
 
-            //Initiates components
-            labelStyling(comingSoonHeading, AppConfig.TEXT_HEADING_1);
-            labelStyling(comingSoonSubHeading, AppConfig.TEXT_HEADING_2);
-            labelStyling(comingSoonSmiley, AppConfig.TEXT_HEADING_2);
+        //Initiates components
+        labelStyling(comingSoonHeading, AppConfig.TEXT_HEADING_1);
+        labelStyling(comingSoonSubHeading, AppConfig.TEXT_HEADING_2);
+        labelStyling(comingSoonSmiley, AppConfig.TEXT_HEADING_2);
 
-            // Adds and place the components on the grid.
-            gbc.gridx = 0;
-            gbc.gridy = 0;
-            gbc.insets = AppConfig.INSET_BOTTOM_20;
-            mainPanel.add(comingSoonHeading, gbc);
+        // Adds and place the components on the grid.
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.insets = AppConfig.INSET_BOTTOM_20;
+        mainPanel.add(comingSoonHeading, gbc);
 
-            gbc.gridy++;
-            mainPanel.add(comingSoonSubHeading, gbc);
+        gbc.gridy++;
+        mainPanel.add(comingSoonSubHeading, gbc);
 
-            gbc.gridy++;
-            gbc.insets = AppConfig.INSET_BOTTOM_30;
-            mainPanel.add(comingSoonSmiley, gbc);
+        gbc.gridy++;
+        gbc.insets = AppConfig.INSET_BOTTOM_30;
+        mainPanel.add(comingSoonSmiley, gbc);
 
-            backBtnPosition = gbc.gridy + 1;
-        });
+        backBtnPosition = gbc.gridy + 1;
     }
 
     /*=====================
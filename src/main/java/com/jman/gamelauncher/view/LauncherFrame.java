@@ -1,7 +1,9 @@
 package com.jman.gamelauncher.view;
 
 import java.awt.BorderLayout;
+import java.awt.Graphics;
 
+import javax.swing.JComponent;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
@@ -21,23 +23,48 @@ import com.jman.gamelauncher.support.AppConfigLauncher;
  */
 public class LauncherFrame {
     private final JFrame frame = new JFrame();
+    private Runnable firstPaintListener;
 
+    /**
+     * Constructs the frame around the launcher's two views. Must be called on the EDT.
+     * @param launcherSideView the panel of the side view.
+     * @param launcherMainView the panel of the main view.
+     */
     public LauncherFrame(final JPanel launcherSideView, final JPanel launcherMainView) {
-        SwingUtilities.invokeLater(() -> {
-            // NOTE: For submission these two should be uncommented and the setSize below commented out.
-            // frame.setSize(Toolkit.getDefaultToolkit().getScreenSize());
-            // frame.setUndecorated(true);
-            frame.setSize(AppConfigLauncher.GAME_LAUNCHER_DIMENSIONS);
-            frame.setLayout(new BorderLayout());
-            frame.add(launcherSideView, BorderLayout.WEST);
-            frame.add(launcherMainView, BorderLayout.CENTER);
-            frame.setLocationRelativeTo(null);
-            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        });
+        // NOTE: For submission these two should be uncommented and the setSize below commented out.
+        // frame.setSize(Toolkit.getDefaultToolkit().getScreenSize());
+        // frame.setUndecorated(true);
+        frame.setSize(AppConfigLauncher.GAME_LAUNCHER_DIMENSIONS);
+        frame.setLayout(new BorderLayout());
+        frame.add(launcherSideView, BorderLayout.WEST);
+        frame.add(launcherMainView, BorderLayout.CENTER);
+        frame.setLocationRelativeTo(null);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+
+        // An empty, transparent glass pane that only notices when the frame is first painted.
+        // It has no listeners, so the mouse events pass through to the views below. It's hidden once it has
+        // fired, since a visible glass pane makes every repaint of the views below paint through it as well.
+        final JComponent firstPaintProbe = new JComponent() {
+            @Override
+            protected void paintComponent(final Graphics g) {
+                final Runnable listener = firstPaintListener;
+                firstPaintListener = null;
+                if (listener != null) {
+                    SwingUtilities.invokeLater(() -> setVisible(false)); // Not while the frame is being painted.
+                    listener.run();
+                }
+            }
+        };
+        frame.setGlassPane(firstPaintProbe);
+        firstPaintProbe.setVisible(true);
     }
 
-    /** Shows the launcher frame */
-    public void showFrame() {
+    /**
+     * Shows the launcher frame.
+     * @param onFirstPaint a callback that is run on the EDT once the frame has been painted for the first time.
+     */
+    public void showFrame(final Runnable onFirstPaint) {
+        firstPaintListener = onFirstPaint;
         frame.setVisible(true);
     }
 }
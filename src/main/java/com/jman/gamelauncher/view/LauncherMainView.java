@@ -3,7 +3,6 @@ package com.jman.gamelauncher.view;
 import java.awt.CardLayout;
 
 import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
 
 import com.jman.gamelauncher.support.AppConfig;
 import com.jman.gamelauncher.support.AppConfigLauncher;
@@ -16,31 +15,36 @@ import com.jman.gamelauncher.support.AppConfigLauncher;
 public class LauncherMainView implements IView {
     private final JPanel mainPanel = new JPanel();
     private final CardLayout mainPanelCL = new CardLayout();
-    private int amountOfLauncherCards;
+    private JPanel selectedGamePanel;
 
-    /** Constructs up the LauncherMainView on the EDT */
+    /** Constructs up the LauncherMainView. Must be called on the EDT. */
     public LauncherMainView() {
-        SwingUtilities.invokeLater(() -> {
-            mainPanel.setLayout(mainPanelCL);
-            setColorOnBackBtn(AppConfig.COLOR_ACCENT);
-        });
+        mainPanel.setLayout(mainPanelCL);
+        setColorOnBackBtn(AppConfig.COLOR_ACCENT);
     }
 
     /**
-     * Sets the different views for the launcher and store the amount of cards in an int.
+     * Sets the start view, the only view the launcher needs to show its first frame.
      * @param startView the JPanel for the start menu
-     * @param aboutView the JPanel for the about menu
-     * @param comingSoonGameView the JPanel for the coming soon view
      */
-    public void setViews(
-        final JPanel startView,
-        final JPanel aboutView,
-        final JPanel comingSoonGameView
-    ) {
+    public void setStartView(final JPanel startView) {
         mainPanel.add(startView, AppConfigLauncher.START);
+    }
+
+    /**
+     * Adds the about view. It's built the first time it's shown, so it's added later than the start view.
+     * @param aboutView the JPanel for the about menu
+     */
+    public void addAboutView(final JPanel aboutView) {
         mainPanel.add(aboutView, AppConfigLauncher.ABOUT);
+    }
+
+    /**
+     * Adds the coming soon view. It's built the first time it's shown, so it's added later than the start view.
+     * @param comingSoonGameView the JPanel for the coming soon view
+     */
+    public void addComingSoonView(final JPanel comingSoonGameView) {
         mainPanel.add(comingSoonGameView, AppConfigLauncher.COMING_SOON);
-        amountOfLauncherCards = mainPanel.getComponentCount();
     }
 
     /*=====================
@@ -72,7 +76,8 @@ public class LauncherMainView implements IView {
      * Loads the selected game's view into the game display panel.
      *
      * <p>This method is called from the {@link ActionListener} attached to the game buttons.
-     * First it checks if an old gamePanel is present and removes it if that's the case.
+     * First it removes the panel of the previous game if there is one. It's tracked by reference rather than by its
+     * position, since the lazily built launcher views may be added after it.
      * It then adds the game's view to the card layout panel with the constraint fetched from the config file. Since
      * the same constraint is used every time, the new panel will replace any existing panel with
      * the same name in the CardLayout. The view is then displayed.</p>
@@ -80,10 +85,11 @@ public class LauncherMainView implements IView {
      * @param gamePanel The panel representing the selected game's view to be displayed.
      */
     public void ShowSelectedGame(final JPanel gamePanel) {
-        if (mainPanel.getComponentCount() > amountOfLauncherCards) {
-            mainPanel.remove(mainPanel.getComponentCount() - 1);
+        if (selectedGamePanel != null) {
+            mainPanel.remove(selectedGamePanel);
         }
 
+        selectedGamePanel = gamePanel;
         mainPanel.add(gamePanel, AppConfigLauncher.SELECTED_GAME);
         mainPanelCL.show(mainPanel, AppConfigLauncher.SELECTED_GAME);
     }
@@ -10,7 +10,6 @@ import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
-import javax.swing.SwingUtilities;
 
 import com.jman.gamelauncher.support.AppConfig;
 import com.jman.gamelauncher.support.AppConfigLauncher;
@@ -39,41 +38,39 @@ public class LauncherSideView implements IView {
     private final JButton exitBtn = new JButton("Exit");
 
     /**
-     * Constructs the LauncherSideView on the EDT.
+     * Constructs the LauncherSideView. Must be called on the EDT.
      * It holds a gamesListPanel inside a scrollPane and has an exit button as well.
      */
     public LauncherSideView() {
-        SwingUtilities.invokeLater(() -> {
-            mainPanel.setLayout(new GridBagLayout());
-            mainPanel.setPreferredSize(AppConfigLauncher.GAME_SELECTOR_PANEL_DIMENSIONS);
-            mainPanel.setBackground(AppConfig.COLOR_DARK_GREY);
-
-            // Initiates components
-            labelStyling(gameLabel, AppConfig.TEXT_SIZE_NORMAL);
-            scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_NEVER);
-            scrollPane.setBorder(BorderFactory.createEmptyBorder());
-            scrollPane.getVerticalScrollBar().setUnitIncrement(8);
-            gamesListPanel.setLayout(new BoxLayout(gamesListPanel, BoxLayout.Y_AXIS));
-            gamesListPanel.setBackground(AppConfig.COLOR_DARK_GREY);
-            buttonStyler(exitBtn, AppConfig.COLOR_WHITE);
-
-            // Adds and place the components on the grid.
-            gbc.gridx = 0;
-            gbc.gridy = 0;
-            gbc.insets = AppConfig.INSET_TOP_30_BOTTOM_20;
-            mainPanel.add(gameLabel, gbc);
-
-            gbc.gridy++;  // Advances constraints in the y axis
-            gbc.weighty = 1;  // Expands the whole scroll pane to take all available space in y axis
-            gbc.weightx = 1;  // Expands the whole scroll pane to take all available space in x axis
-            gbc.fill = GridBagConstraints.BOTH;  // Fills the actual expanded space with the content
-            mainPanel.add(scrollPane, gbc);
-
-            gbc = resetGbc(gbc.gridy, gbc.gridx);
-            gbc.gridy++;
-            gbc.insets = AppConfig.INSET_TOP_20_BOTTOM_30;
-            mainPanel.add(exitBtn, gbc);
-        });
+        mainPanel.setLayout(new GridBagLayout());
+        mainPanel.setPreferredSize(AppConfigLauncher.GAME_SELECTOR_PANEL_DIMENSIONS);
+        mainPanel.setBackground(AppConfig.COLOR_DARK_GREY);
+
+        // Initiates components
+        labelStyling(gameLabel, AppConfig.TEXT_SIZE_NORMAL);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_NEVER);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        scrollPane.getVerticalScrollBar().setUnitIncrement(8);
+        gamesListPanel.setLayout(new BoxLayout(gamesListPanel, BoxLayout.Y_AXIS));
+        gamesListPanel.setBackground(AppConfig.COLOR_DARK_GREY);
+        buttonStyler(exitBtn, AppConfig.COLOR_WHITE);
+
+        // Adds and place the components on the grid.
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.insets = AppConfig.INSET_TOP_30_BOTTOM_20;
+        mainPanel.add(gameLabel, gbc);
+
+        gbc.gridy++;  // Advances constraints in the y axis
+        gbc.weighty = 1;  // Expands the whole scroll pane to take all available space in y axis
+        gbc.weightx = 1;  // Expands the whole scroll pane to take all available space in x axis
+        gbc.fill = GridBagConstraints.BOTH;  // Fills the actual expanded space with the content
+        mainPanel.add(scrollPane, gbc);
+
+        gbc = resetGbc(gbc.gridy, gbc.gridx);
+        gbc.gridy++;
+        gbc.insets = AppConfig.INSET_TOP_20_BOTTOM_30;
+        mainPanel.add(exitBtn, gbc);
     }
 
     /**
@@ -6,7 +6,6 @@ import java.awt.GridBagLayout;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
 
 import com.jman.gamelauncher.support.AppConfig;
 
@@ -22,30 +21,28 @@ public class LauncherStartView implements IView {
     private final JButton aboutBtn = new JButton("About");
 
     /**
-     * Constructs the start view on the EDT
+     * Constructs the start view. Must be called on the EDT.
      */
     public LauncherStartView() {
-        SwingUtilities.invokeLater(() -> {
-            mainPanel.setLayout(new GridBagLayout());
-            mainPanel.setBackground(AppConfig.COLOR_DARKER_GREY);
+        mainPanel.setLayout(new GridBagLayout());
+        mainPanel.setBackground(AppConfig.COLOR_DARKER_GREY);
 
-            // Initiates components
-            labelStyling(WelcomeHeading, AppConfig.TEXT_HEADING_1);
-            buttonStyler(aboutBtn, AppConfig.COLOR_ACCENT);
+        // Initiates components
+        labelStyling(WelcomeHeading, AppConfig.TEXT_HEADING_1);
+        buttonStyler(aboutBtn, AppConfig.COLOR_ACCENT);
 
-            // Adds and place the components on the grid.
-            gbc.gridx = 0;
-            gbc.gridy = 0;
-            gbc.weighty = 1;
-            gbc.weightx = 1;
-            mainPanel.add(WelcomeHeading, gbc);
+        // Adds and place the components on the grid.
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.weighty = 1;
+        gbc.weightx = 1;
+        mainPanel.add(WelcomeHeading, gbc);
 
-            gbc = resetGbc(gbc.gridy, gbc.gridx);
-            gbc.gridy++;
-            gbc.anchor = GridBagConstraints.SOUTHWEST;
-            gbc.insets = AppConfig.INSET_LEFT_BOTTOM_CORNER_30;
-            mainPanel.add(aboutBtn, gbc);
-        });
+        gbc = resetGbc(gbc.gridy, gbc.gridx);
+        gbc.gridy++;
+        gbc.anchor = GridBagConstraints.SOUTHWEST;
+        gbc.insets = AppConfig.INSET_LEFT_BOTTOM_CORNER_30;
+        mainPanel.add(aboutBtn, gbc);
     }
 
     /*========================================
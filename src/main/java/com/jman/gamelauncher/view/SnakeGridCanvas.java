@@ -0,0 +1,122 @@
+package com.jman.gamelauncher.view;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import javax.swing.JComponent;
+
+import com.jman.gamelauncher.support.AppConfig;
+
+/**
+ * A single custom-painted component that renders the snake game grid.
+ *
+ * <p>Instead of one component per cell, this canvas keeps the color of every cell in an array and
+ * paints the whole grid in one {@link #paintComponent(Graphics)} pass. The empty grid with its lines
+ * is pre-rendered into a cached image, so a frame only costs one image blit plus a fill for each
+ * colored cell inside the clip.</p>
+ *
+ * @author Joel Lansgren
+ */
+@SuppressWarnings("serial") // Swing components are never serialized here.
+class SnakeGridCanvas extends JComponent {
+    private final int gridSize;
+    private final Color[] cells;
+    private BufferedImage gridImage;
+
+    /**
+     * Constructs the canvas for a square grid.
+     * @param gridSize the number of cells along each side of the grid.
+     */
+    SnakeGridCanvas(final int gridSize) {
+        this.gridSize = gridSize;
+        cells = new Color[gridSize * gridSize];
+        setOpaque(true);
+        setFocusable(true); // Needed for the key listener that steers the snake.
+    }
+
+    /*==============================
+    * Cell Methods
+    ==============================*/
+
+    /**
+     * Sets the color of a cell and repaints only the rectangle of that cell.
+     * @param cell the packed index (y * gridSize + x) of the cell.
+     * @param color the color to paint the cell with, or {@code null} to leave it empty.
+     */
+    void setCell(final int cell, final Color color) {
+        cells[cell] = color;
+
+        final int cellSize = getWidth() / gridSize;
+        repaint((cell % gridSize) * cellSize, (cell / gridSize) * cellSize, cellSize, cellSize);
+    }
+
+    /** Empties every cell of the grid and repaints all of it. */
+    void clearCells() {
+        Arrays.fill(cells, null);
+        repaint();
+    }
+
+    /*==============================
+    * Painting
+    ==============================*/
+
+    /**
+     * Paints the cached empty grid and fills every colored cell that intersects the clip.
+     * The cell border from the background image is left visible around each colored cell.
+     */
+    @Override
+    protected void paintComponent(final Graphics g) {
+        final int cellSize = getWidth() / gridSize;
+        if (cellSize == 0) { return; }
+
+        g.drawImage(getGridImage(cellSize), 0, 0, null);
+
+        // Only walk the cells that are inside the area that needs repainting.
+        final Rectangle clip = g.getClipBounds();
+        final int firstX = Math.max(0, clip.x / cellSize);
+        final int firstY = Math.max(0, clip.y / cellSize);
+        final int lastX = Math.min(gridSize - 1, (clip.x + clip.width - 1) / cellSize);
+        final int lastY = Math.min(gridSize - 1, (clip.y + clip.height - 1) / cellSize);
+
+        for (int y = firstY; y <= lastY; y++) {
+            for (int x = firstX; x <= lastX; x++) {
+                final Color color = cells[y * gridSize + x];
+                if (color != null) {
+                    g.setColor(color);
+                    g.fillRect(x * cellSize + 1, y * cellSize + 1, cellSize - 2, cellSize - 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the pre-rendered empty grid, building it again only if the cell size has changed.
+     * @param cellSize the current width and height of a cell in pixels.
+     * @return an image of the empty grid with its cell borders.
+     */
+    private BufferedImage getGridImage(final int cellSize) {
+        final int size = cellSize * gridSize;
+
+        if (gridImage == null || gridImage.getWidth() != size) {
+            gridImage = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+            final Graphics g = gridImage.getGraphics();
+
+            g.setColor(AppConfig.COLOR_DARKER_GREY);
+            g.fillRect(0, 0, size, size);
+
+            // Draws the same one pixel border each cell used to get from its LineBorder.
+            g.setColor(AppConfig.COLOR_DARK_GREY);
+            for (int y = 0; y < gridSize; y++) {
+                for (int x = 0; x < gridSize; x++) {
+                    g.drawRect(x * cellSize, y * cellSize, cellSize - 1, cellSize - 1);
+                }
+            }
+            g.dispose();
+        }
+
+        return gridImage;
+    }
+}
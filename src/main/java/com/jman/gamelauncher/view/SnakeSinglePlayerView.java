@@ -1,18 +1,11 @@
 package com.jman.gamelauncher.view;
 
-import java.awt.BorderLayout;
-import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
-import java.awt.GridLayout;
-import java.awt.Point;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseListener;
-import java.util.List;
-import java.util.Map;
 
-import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
@@ -23,6 +16,7 @@ import javax.swing.JPanel;
 import com.jman.gamelauncher.controller.CardinalDirectionListener;
 import com.jman.gamelauncher.support.AppConfig;
 import com.jman.gamelauncher.support.AppConfigSnake;
+import com.jman.gamelauncher.support.GridDelta;
 
 /**
  * Represents the single-player view for the Snake game.
@@ -31,16 +25,15 @@ import com.jman.gamelauncher.support.AppConfigSnake;
  * and style of the grid cells.
  *
  * <p>This class primarily interacts with {@link SnakeMainView} for shared view components
- * and relies on a 2D array to manage the snake's appearance in the grid.</p>
+ * and relies on a single {@link SnakeGridCanvas} to paint the snake and boosters in the grid.</p>
  *
  * @author Joel Lansgren
  */
 public class SnakeSinglePlayerView implements IView{
     private final JPanel mainPanel = new JPanel();
     private final GridBagConstraints gbc = new GridBagConstraints();
-    private final int gridSize = AppConfigSnake.CELL_COUNT;
     private final JLayeredPane layeredPane = new JLayeredPane();
-    private final JPanel gameGrid = new JPanel(new GridLayout(gridSize, gridSize));
+    private final SnakeGridCanvas gameGrid;
     private final JPanel gameOverPanel = new JPanel() {
         /**
          * Override to set a transparent background on the GameOverPanel
@@ -64,6 +57,15 @@ public class SnakeSinglePlayerView implements IView{
      * Sets up the layout and some basic styling.
      */
     public SnakeSinglePlayerView() {
+        this(AppConfigSnake.CELL_COUNT);
+    }
+
+    /**
+     * Constructs a new single-player view for a grid of the given size, like the larger grids used by the benchmarks.
+     * @param gridSize the number of cells along each side of the grid.
+     */
+    public SnakeSinglePlayerView(final int gridSize) {
+        gameGrid = new SnakeGridCanvas(gridSize);
         mainPanel.setLayout(new GridBagLayout());
         mainPanel.setBackground(AppConfig.COLOR_DARKER_GREY);
 
@@ -106,21 +108,6 @@ public class SnakeSinglePlayerView implements IView{
     * Game Methods
     =============================*/
 
-    /**
-     * Initializes the snakeGrid cells upon game initialization.
-     * <p>Can only happen one time or else multiple grids will be overlaid on top of each-other.</p>
-     */
-    public void initializeGridCell() {
-        for (int i = 0; i < gridSize * gridSize; i++) {
-            // Creates the cell to put in the grid, gives it a border and background
-            final JPanel cell = new JPanel(new BorderLayout());
-            cell.setBorder(BorderFactory.createLineBorder(AppConfig.COLOR_DARK_GREY));
-
-            // Add the cell to the grid
-            gameGrid.add(cell);
-        }
-    }
-
     /**
      * Just before the game starts we we request focus on the snake grid to enable
      * key listeners for controlling the snake's movement.
@@ -130,33 +117,17 @@ public class SnakeSinglePlayerView implements IView{
     }
 
     /**
-     * Updates the game grid with the current state of the snake.
+     * Updates the game grid with the cells that changed since the last update.
+     * Only the changed cells are repainted, unless the delta is a reset which empties the whole grid first.
+     * @param gridDelta the changed cells and their new colors.
      */
-    public void updateGameGrid(final List<Point> snake, final Map<Point, Color> boosterData) {
-        clearGameGrid();
-
-        final Point head = snake.get(snake.size() - 1);
-
-        for (final Point p : snake) {
-            gameGrid.getComponent((p.y * gridSize) + p.x).setBackground(
-                !p.equals(head) ? AppConfigSnake.COLOR_ACCENT : AppConfigSnake.COLOR_SNAKE_HEAD
-            );
-        }
-
-        for (final Point p : boosterData.keySet()) {
-            gameGrid.getComponent((p.y * gridSize) + p.x).setBackground(boosterData.get(p));
+    public void updateGameGrid(final GridDelta gridDelta) {
+        if (gridDelta.isReset()) {
+            gameGrid.clearCells();
         }
-    }
 
-    /**
-     * Clears the snakeGrid by coloring its cells to the background color.
-     * This method is executed before each update.
-     */
-    private void clearGameGrid() {
-        for (int y = 0; y < gridSize; y++) {
-            for (int x = 0; x < gridSize; x++) {
-                gameGrid.getComponent((y * gridSize) + x).setBackground(AppConfig.COLOR_DARKER_GREY);
-            }
+        for (int i = 0; i < gridDelta.size(); i++) {
+            gameGrid.setCell(gridDelta.getCell(i), gridDelta.getColor(i));
         }
     }
 
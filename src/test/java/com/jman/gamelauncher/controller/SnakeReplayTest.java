@@ -0,0 +1,131 @@
+package com.jman.gamelauncher.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.jman.gamelauncher.controller.SnakeReplay.ReplayResult;
+import com.jman.gamelauncher.model.SnakeInputLog;
+
+/**
+ * Records games played by the {@link SnakeHeadlessRunner} bot, sends them through the binary format
+ * of {@link SnakeInputLog} and checks that {@link SnakeReplay} ends up exactly where the recorded games did.
+ *
+ * @author Joel Lansgren
+ */
+public class SnakeReplayTest {
+    private static final int GRID_SIZE = 20;
+    private static final int MAX_TICKS = 5_000;
+    private static final int GAMES = 20;
+    private static final int DIRECTION_OFFSET = 4 + 1 + 8 + 4 + 4 + 4; // The direction of the first entry.
+    private final SnakeHeadlessRunner runner = new SnakeHeadlessRunner(GRID_SIZE, MAX_TICKS);
+
+    /**
+     * A recorded game that is written and read back replays to the same tick and state hash.
+     * @throws IOException if the log can't be written or read, which would fail the test.
+     */
+    @Test
+    public void recordedGamesReplayToTheSameState() throws IOException {
+        for (long seed = 1; seed <= GAMES; seed++) {
+            final SnakeInputLog recorded = runner.recordGame(seed);
+            final ReplayResult result = SnakeReplay.replay(readBack(write(recorded)));
+
+            assertTrue(result.isMatch(), "Replay of seed " + seed + " diverged");
+            assertEquals(recorded.getFinalTick(), result.ticks());
+            assertEquals(recorded.getFinalStateHash(), result.stateHash());
+        }
+    }
+
+    /**
+     * A replay that is fed different inputs than the recorded game doesn't match.
+     */
+    @Test
+    public void changedInputsDoNotMatch() {
+        final SnakeInputLog recorded = runner.recordGame(7);
+        final SnakeInputLog changed = new SnakeInputLog(recorded.getSeed(), recorded.getGridSize());
+        for (int i = 0; i < recorded.size() - 1; i++) { // Drops the last turn.
+            changed.record(recorded.getDirection(i), recorded.getTick(i));
+        }
+        changed.finish(recorded.getFinalTick(), recorded.getFinalStateHash());
+
+        assertTrue(recorded.size() > 0);
+        assertFalse(SnakeReplay.replay(changed).isMatch());
+    }
+
+    /**
+     * Writing a log and reading it back keeps every entry and the final state.
+     * @throws IOException if the log can't be written or read, which would fail the test.
+     */
+    @Test
+    public void logSurvivesTheRoundTrip() throws IOException {
+        final SnakeInputLog recorded = runner.recordGame(3);
+        final SnakeInputLog read = readBack(write(recorded));
+
+        assertEquals(recorded.getSeed(), read.getSeed());
+        assertEquals(recorded.getGridSize(), read.getGridSize());
+        assertEquals(recorded.size(), read.size());
+        for (int i = 0; i < recorded.size(); i++) {
+            assertEquals(recorded.getTick(i), read.getTick(i));
+            assertEquals(recorded.getDirection(i), read.getDirection(i));
+        }
+        assertEquals(recorded.getFinalTick(), read.getFinalTick());
+        assertEquals(recorded.getFinalStateHash(), read.getFinalStateHash());
+    }
+
+    /**
+     * A log with the wrong magic number, an unknown version, an unknown direction or a missing end is rejected.
+     * @throws IOException if the log can't be written, which would fail the test.
+     */
+    @Test
+    public void corruptLogsAreRejected() throws IOException {
+        final SnakeInputLog recorded = runner.recordGame(5);
+        assertTrue(recorded.size() > 0);
+        final byte[] bytes = write(recorded);
+
+        final byte[] badMagic = bytes.clone();
+        badMagic[0] ^= 1;
+        assertThrows(IOException.class, () -> readBack(badMagic));
+
+        final byte[] badVersion = bytes.clone();
+        badVersion[4] = 99;
+        assertThrows(IOException.class, () -> readBack(badVersion));
+
+        final byte[] badDirection = bytes.clone();
+        badDirection[DIRECTION_OFFSET] = 4;
+        assertThrows(IOException.class, () -> readBack(badDirection));
+
+        final byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        assertThrows(EOFException.class, () -> readBack(truncated));
+    }
+
+    /**
+     * Helper method that writes a log in its binary format.
+     * @param log the log.
+     * @return the bytes of the log.
+     * @throws IOException if the log can't be written.
+     */
+    private static byte[] write(final SnakeInputLog log) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        log.writeTo(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Helper method that reads a log from its binary format.
+     * @param bytes the bytes of the log.
+     * @return the log.
+     * @throws IOException if the bytes don't hold a valid log.
+     */
+    private static SnakeInputLog readBack(final byte[] bytes) throws IOException {
+        return SnakeInputLog.readFrom(new ByteArrayInputStream(bytes));
+    }
+}
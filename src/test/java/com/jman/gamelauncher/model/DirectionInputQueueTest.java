@@ -0,0 +1,108 @@
+package com.jman.gamelauncher.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks which turns the {@link DirectionInputQueue} lets through, and that the tick takes them one by one
+ * in the order they were offered.
+ *
+ * @author Joel Lansgren
+ */
+public class DirectionInputQueueTest {
+    private static final int CAPACITY = 4;
+    private final DirectionInputQueue queue = new DirectionInputQueue(CAPACITY);
+
+    /**
+     * Two turns offered within one tick are both kept and taken on the next two ticks.
+     */
+    @Test
+    public void twoTurnsWithinOneTickAreBothTaken() {
+        assertTrue(queue.offer(Direction.UP));
+        assertTrue(queue.offer(Direction.LEFT));
+
+        assertEquals(Direction.UP, queue.poll());
+        assertEquals(Direction.LEFT, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    /**
+     * A turn back into the snake or a repeat of the last turn is dropped, checked against the last queued turn
+     * and not the direction the snake is going.
+     */
+    @Test
+    public void reversalsAndRepeatsAreDropped() {
+        assertFalse(queue.offer(Direction.LEFT)); // Back into the snake going right.
+        assertFalse(queue.offer(Direction.RIGHT));
+        assertTrue(queue.offer(Direction.UP));
+        assertFalse(queue.offer(Direction.DOWN)); // Back into the queued turn.
+        assertFalse(queue.offer(Direction.UP));
+        assertTrue(queue.offer(Direction.LEFT));
+
+        assertEquals(Direction.UP, queue.poll());
+        assertEquals(Direction.LEFT, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    /**
+     * A turn offered while the queue is full is dropped, and the queue takes turns again once a tick took one.
+     */
+    @Test
+    public void turnsAreDroppedWhileTheQueueIsFull() {
+        final Direction[] turns = {Direction.UP, Direction.LEFT, Direction.DOWN, Direction.RIGHT};
+        for (final Direction turn : turns) {
+            assertTrue(queue.offer(turn));
+        }
+        assertFalse(queue.offer(Direction.UP));
+
+        assertEquals(Direction.UP, queue.poll());
+        assertTrue(queue.offer(Direction.DOWN));
+        for (int i = 1; i < turns.length; i++) {
+            assertEquals(turns[i], queue.poll());
+        }
+        assertEquals(Direction.DOWN, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    /**
+     * Resetting empties the queue, clears the latency and checks new turns against the given direction.
+     */
+    @Test
+    public void resetEmptiesTheQueue() {
+        assertTrue(queue.offer(Direction.UP));
+        assertTrue(queue.offer(Direction.LEFT));
+        queue.poll();
+        queue.reset(Direction.DOWN);
+
+        assertNull(queue.poll());
+        assertEquals(0, queue.getMeanLatencyNanos());
+        assertEquals(0, queue.getMaxLatencyNanos());
+        assertFalse(queue.offer(Direction.UP));
+        assertTrue(queue.offer(Direction.LEFT));
+        assertEquals(Direction.LEFT, queue.poll());
+    }
+
+    /**
+     * Every direction has another direction as its opposite, and that direction's opposite is the first one.
+     */
+    @Test
+    public void oppositesArePairs() {
+        for (final Direction direction : Direction.values()) {
+            assertFalse(direction == direction.opposite());
+            assertEquals(direction, direction.opposite().opposite());
+        }
+    }
+
+    /**
+     * A capacity that isn't a power of two is refused, since the queue masks its indices.
+     */
+    @Test
+    public void capacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new DirectionInputQueue(3));
+    }
+}
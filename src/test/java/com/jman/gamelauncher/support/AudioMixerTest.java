@@ -0,0 +1,164 @@
+package com.jman.gamelauncher.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.LineUnavailableException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link AudioMixer} without a sound card, by mixing buffers directly
+ * or running it against the null and stream outputs.
+ *
+ * @author Joel Lansgren
+ */
+public class AudioMixerTest {
+    private static final int BUFFER_FRAMES = 4;
+
+    /**
+     * Two sounds that overlap are summed instead of the second one cutting off the first.
+     */
+    @Test
+    public void overlappingSoundsAreMixed() {
+        final AudioMixer mixer = new AudioMixer(IAudioOutput.NULL, BUFFER_FRAMES, 4);
+        mixer.play(constant(1000, BUFFER_FRAMES));
+        mixer.play(constant(2000, BUFFER_FRAMES));
+
+        assertArrayEquals(constant(3000, BUFFER_FRAMES), samplesOf(mixer.mixNextBuffer()));
+        assertEquals(0, mixer.activeVoices());
+    }
+
+    /**
+     * The sum of loud sounds is clipped to 16 bits instead of wrapping around.
+     */
+    @Test
+    public void loudSoundsAreClipped() {
+        final AudioMixer mixer = new AudioMixer(IAudioOutput.NULL, BUFFER_FRAMES, 4);
+        mixer.play(constant(30_000, BUFFER_FRAMES));
+        mixer.play(constant(30_000, BUFFER_FRAMES));
+        mixer.play(constant(-30_000, 1));
+
+        final short[] mixed = samplesOf(mixer.mixNextBuffer());
+        assertEquals(30_000, mixed[0]);
+        assertEquals(Short.MAX_VALUE, mixed[2]);
+    }
+
+    /**
+     * A sound longer than a buffer continues in the next one, and the mixer writes silence when it's over.
+     */
+    @Test
+    public void soundsContinueAcrossBuffersAndEndInSilence() {
+        final AudioMixer mixer = new AudioMixer(IAudioOutput.NULL, BUFFER_FRAMES, 4);
+        mixer.play(constant(500, BUFFER_FRAMES + 2));
+
+        assertArrayEquals(constant(500, BUFFER_FRAMES), samplesOf(mixer.mixNextBuffer()));
+        final short[] second = samplesOf(mixer.mixNextBuffer());
+        assertArrayEquals(constant(500, 2), Arrays.copyOf(second, 4));
+        assertArrayEquals(new short[4], Arrays.copyOfRange(second, 4, 8));
+        assertArrayEquals(new short[2 * BUFFER_FRAMES], samplesOf(mixer.mixNextBuffer()));
+    }
+
+    /**
+     * When every voice is busy, a new sound replaces the oldest one.
+     */
+    @Test
+    public void oldestVoiceIsStolenWhenAllAreBusy() {
+        final AudioMixer mixer = new AudioMixer(IAudioOutput.NULL, BUFFER_FRAMES, 2);
+        mixer.play(constant(1, 3 * BUFFER_FRAMES));
+        mixer.play(constant(10, 3 * BUFFER_FRAMES));
+        mixer.mixNextBuffer();
+
+        mixer.play(constant(100, 3 * BUFFER_FRAMES));
+        assertArrayEquals(constant(110, BUFFER_FRAMES), samplesOf(mixer.mixNextBuffer()));
+        assertEquals(2, mixer.activeVoices());
+    }
+
+    /**
+     * A running mixer writes whole buffers to a stream output, and closing it closes the output.
+     * @throws LineUnavailableException never, the stream output can always be opened.
+     * @throws InterruptedException if the test is interrupted while waiting for the mixer.
+     */
+    @Test
+    public void runningMixerWritesToStreamOutput() throws LineUnavailableException, InterruptedException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final AudioMixer mixer = new AudioMixer(new StreamAudioOutput(bytes), BUFFER_FRAMES, 4);
+        mixer.play(constant(1234, BUFFER_FRAMES));
+        mixer.start();
+        while (bytes.size() < 3 * BUFFER_FRAMES * AudioMixer.FORMAT.getFrameSize()) {
+            Thread.sleep(1);
+        }
+        mixer.close();
+
+        final byte[] written = bytes.toByteArray();
+        assertEquals(0, written.length % (BUFFER_FRAMES * AudioMixer.FORMAT.getFrameSize()));
+        assertArrayEquals(
+            constant(1234, BUFFER_FRAMES),
+            samplesOf(Arrays.copyOf(written, BUFFER_FRAMES * AudioMixer.FORMAT.getFrameSize()))
+        );
+    }
+
+    /**
+     * The null output paces the mixer in real time and can be started and closed without a sound card.
+     * @throws LineUnavailableException never, the null output can always be opened.
+     */
+    @Test
+    public void mixerRunsOnNullOutput() throws LineUnavailableException {
+        final AudioMixer mixer = new AudioMixer(IAudioOutput.NULL, 512, 4);
+        mixer.start();
+        mixer.play(constant(1, 512));
+        mixer.close();
+    }
+
+    /**
+     * Unsigned 8-bit mono sounds at another rate are converted to 16-bit stereo at the mixer's rate.
+     * @throws IOException never, the sound is in memory.
+     */
+    @Test
+    public void decodeConvertsMonoAndResamples() throws IOException {
+        final AudioFormat format = new AudioFormat(22_050f, 8, 1, false, false);
+        final byte[] pcm = {(byte) 128, (byte) 192, (byte) 128, (byte) 64};
+        final AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(pcm), format, pcm.length);
+
+        final short[] samples = AudioMixer.decode(stream);
+        assertEquals(2 * 2 * pcm.length, samples.length); // Twice the frames, two channels each.
+        for (int frame = 0; frame < samples.length / 2; frame++) {
+            assertEquals(samples[2 * frame], samples[2 * frame + 1]);
+        }
+        assertEquals(0, samples[0]);
+        assertTrue(samples[2] > 0 && samples[4] > samples[2]); // Interpolated on the way up to the peak.
+    }
+
+    /**
+     * Helper method that creates a stereo sound where every sample has the same value.
+     * @param value the value of the samples.
+     * @param frames the length of the sound in frames.
+     * @return the interleaved stereo samples.
+     */
+    private static short[] constant(final int value, final int frames) {
+        final short[] samples = new short[2 * frames];
+        Arrays.fill(samples, (short) value);
+        return samples;
+    }
+
+    /**
+     * Helper method that decodes a little-endian 16-bit buffer into samples.
+     * @param buffer the mixed bytes.
+     * @return the samples.
+     */
+    private static short[] samplesOf(final byte[] buffer) {
+        final short[] samples = new short[buffer.length / 2];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) ((buffer[2 * i] & 0xFF) | (buffer[2 * i + 1] << 8));
+        }
+        return samples;
+    }
+}
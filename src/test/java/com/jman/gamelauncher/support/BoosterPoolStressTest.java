@@ -0,0 +1,309 @@
+package com.jman.gamelauncher.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.jman.gamelauncher.model.BoosterModel;
+import com.jman.gamelauncher.model.ISnakeBoosterTarget;
+import com.jman.gamelauncher.model.SnakeCherryBoosterModel;
+import com.jman.gamelauncher.model.SnakeSpeedBoosterModel;
+
+/**
+ * Stresses the lock-free {@link BoosterPool} by spawning, cooling down, consuming and pausing boosters
+ * from several threads at once, and checks between the rounds that no booster or cell was lost or shared,
+ * and that every consumed booster applied its effect exactly once.
+ *
+ * @author Joel Lansgren
+ */
+public class BoosterPoolStressTest {
+    private static final int GRID_SIZE = 8; // Small, so the boosters fill the grid and fight over the cells.
+    private static final int BOOSTERS = 40;
+    private static final int ROUNDS = 20;
+    private static final long ROUND_MILLIS = 50;
+    private static final int SCHEDULER_THREADS = 3;
+    private static final int CONSUMER_THREADS = 3;
+    private final AtomicInteger effects = new AtomicInteger();
+    private final AtomicInteger consumed = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * Under heavy churn every booster either rests in the pool or sits on exactly one cell of its own,
+     * the free cells are exactly the cells without a booster, and the effects match the consumed boosters.
+     * @throws InterruptedException if the test is interrupted while waiting for the threads.
+     */
+    @Test
+    public void poolStaysConsistentUnderChurn() throws InterruptedException {
+        final QueueScheduler scheduler = new QueueScheduler();
+        final BoosterPool pool = new BoosterPool(GRID_SIZE, scheduler, new Random(1));
+        final ISnakeBoosterTarget target = new CountingTarget();
+        final List<BoosterModel> boosters = new ArrayList<>();
+        for (int i = 0; i < BOOSTERS; i++) {
+            boosters.add(i % 2 == 0
+                ? new SnakeCherryBoosterModel(target, ISoundEffectPlayer.SILENT)
+                : new SnakeSpeedBoosterModel(target, ISoundEffectPlayer.SILENT));
+        }
+        pool.initialize(boosters);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            pool.setPaused(false);
+            churn(pool, scheduler, round % 4 == 3);
+            scheduler.drain(); // Ends every cool down, so each booster is either resting or on the grid.
+            assertConsistent(pool, boosters);
+        }
+
+        pool.setPaused(true);
+        scheduler.drain();
+        assertConsistent(pool, boosters);
+        assertEquals(BOOSTERS, pool.idleBoosterCount());
+        assertEquals(0, pool.occupiedBoosterCellCount());
+        assertTrue(consumed.get() > 0);
+    }
+
+    /**
+     * Consuming the same booster from several threads at once applies its effect only once.
+     * @throws InterruptedException if the test is interrupted while waiting for the threads.
+     */
+    @Test
+    public void concurrentConsumesApplyTheEffectOnce() throws InterruptedException {
+        final QueueScheduler scheduler = new QueueScheduler();
+        final BoosterPool pool = new BoosterPool(GRID_SIZE, scheduler, new Random(2));
+        final BoosterModel booster = new SnakeCherryBoosterModel(new CountingTarget(), ISoundEffectPlayer.SILENT);
+        pool.initialize(List.of(booster));
+
+        for (int attempt = 0; attempt < 200; attempt++) {
+            pool.setPaused(false);
+            pool.displayBooster();
+            scheduler.drain();
+            assertTrue(booster.isActive());
+
+            final Thread[] racers = new Thread[4];
+            for (int i = 0; i < racers.length; i++) {
+                racers[i] = new Thread(() -> {
+                    if (booster.consume(false)) {
+                        consumed.incrementAndGet();
+                    }
+                });
+                racers[i].start();
+            }
+            for (final Thread racer : racers) {
+                racer.join();
+            }
+            assertEquals(attempt + 1, consumed.get());
+            assertEquals(consumed.get(), effects.get());
+        }
+        assertEquals(1, pool.idleBoosterCount());
+        assertEquals(GRID_SIZE * GRID_SIZE, pool.freeCellCount());
+    }
+
+    /**
+     * Helper method that runs one round of churn: a spawner, consumers that eat whatever they find on a random
+     * cell, a reader that queries the active boosters like the renderer does, and the scheduler's threads that
+     * end the cool downs. Some rounds also toggle the pause, which calls back every booster at once.
+     * @param pool the pool.
+     * @param scheduler the scheduler the pool's cool downs run on.
+     * @param togglePause whether a thread should pause and resume the pool during the round.
+     * @throws InterruptedException if the test is interrupted while waiting for the threads.
+     */
+    private void churn(
+        final BoosterPool pool, final QueueScheduler scheduler, final boolean togglePause
+    ) throws InterruptedException {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> {
+            while (running.get()) {
+                pool.displayBooster();
+            }
+        }));
+        for (int i = 0; i < CONSUMER_THREADS; i++) {
+            threads.add(new Thread(() -> {
+                final ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    final BoosterModel booster = pool.boosterAt(random.nextInt(GRID_SIZE * GRID_SIZE));
+                    if (booster != null && booster.consume(false)) {
+                        consumed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            while (running.get()) {
+                pool.forEachActiveBooster((color, cell) -> {
+                    if (cell < 0 || cell >= GRID_SIZE * GRID_SIZE) {
+                        throw new AssertionError("Booster outside the grid: " + cell);
+                    }
+                });
+            }
+        }));
+        for (int i = 0; i < SCHEDULER_THREADS; i++) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    scheduler.runNext();
+                }
+            }));
+        }
+        if (togglePause) {
+            threads.add(new Thread(() -> {
+                boolean paused = false;
+                while (running.get()) {
+                    paused = !paused;
+                    pool.setPaused(paused);
+                    Thread.yield();
+                }
+                pool.setPaused(false);
+            }));
+        }
+
+        for (final Thread thread : threads) {
+            thread.setUncaughtExceptionHandler((t, e) -> failure.compareAndSet(null, e));
+            thread.start();
+        }
+        Thread.sleep(ROUND_MILLIS);
+        running.set(false);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+    }
+
+    /**
+     * Helper method that checks the pool while nothing else uses it.
+     * @param pool the pool.
+     * @param boosters every booster of the pool.
+     */
+    private void assertConsistent(final BoosterPool pool, final List<BoosterModel> boosters) {
+        final boolean[] taken = new boolean[GRID_SIZE * GRID_SIZE];
+        int active = 0;
+        for (final BoosterModel booster : boosters) {
+            final int cell = booster.getActiveCell();
+            if (cell >= 0) {
+                assertFalse(taken[cell], "Two boosters on cell " + cell);
+                taken[cell] = true;
+                assertSame(booster, pool.boosterAt(cell));
+                active++;
+            }
+        }
+        assertEquals(BOOSTERS - active, pool.idleBoosterCount());
+        assertEquals(active, pool.occupiedBoosterCellCount());
+        assertEquals(GRID_SIZE * GRID_SIZE - active, pool.freeCellCount());
+        assertEquals(consumed.get(), effects.get());
+    }
+
+    /**
+     * A snake without a body that counts the effects of the boosters.
+     */
+    private final class CountingTarget implements ISnakeBoosterTarget {
+        @Override
+        public List<Point> getSnake() {
+            return List.of();
+        }
+
+        @Override
+        public void forEachSnakeCell(final IntConsumer action) { }
+
+        @Override
+        public int getSnakeLength() {
+            return 0;
+        }
+
+        @Override
+        public void setGrow(final boolean isGrow) {
+            effects.incrementAndGet();
+        }
+
+        @Override
+        public void increaseSpeed(final double speedMultiplier) { }
+
+        @Override
+        public void boostSpeed(final double speedMultiplier) {
+            effects.incrementAndGet();
+        }
+    }
+
+    /**
+     * A scheduler that ignores the delays and runs its tasks in whatever order its threads take them,
+     * so cool downs end while the boosters are consumed and paused. The periodic spawning is left to the test.
+     */
+    private static final class QueueScheduler implements IGameScheduler {
+        private final Queue<QueuedTask> tasks = new ConcurrentLinkedQueue<>();
+
+        /**
+         * A queued task that can be cancelled before it runs.
+         */
+        private static final class QueuedTask implements Task {
+            private final Runnable runnable;
+            private final AtomicBoolean done = new AtomicBoolean();
+
+            QueuedTask(final Runnable runnable) {
+                this.runnable = runnable;
+            }
+
+            @Override
+            public void cancel() {
+                done.set(true);
+            }
+
+            @Override
+            public boolean isDone() {
+                return done.get();
+            }
+        }
+
+        @Override
+        public Task schedule(final Runnable task, final long delay) {
+            final QueuedTask queued = new QueuedTask(task);
+            tasks.add(queued);
+            return queued;
+        }
+
+        @Override
+        public Task scheduleAtFixedRate(final Runnable task, final long initialDelay, final long period) {
+            return new QueuedTask(task);
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return 0;
+        }
+
+        @Override
+        public void shutdown() {
+            tasks.clear();
+        }
+
+        /**
+         * Runs the next task, unless it was cancelled.
+         */
+        void runNext() {
+            final QueuedTask task = tasks.poll();
+            if (task != null && task.done.compareAndSet(false, true)) {
+                task.runnable.run();
+            }
+        }
+
+        /**
+         * Runs every queued task on the calling thread.
+         */
+        void drain() {
+            while (!tasks.isEmpty()) {
+                runNext();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.jman.gamelauncher.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.jman.gamelauncher.support.IGameScheduler.Task;
+
+/**
+ * Checks that the {@link TimerWheel} runs its tasks at the time they are due and in the order they were scheduled,
+ * wherever in the wheel they wait: in the first level, in a level above that they are moved down from,
+ * or in the overflow slot.
+ *
+ * @author Joel Lansgren
+ */
+public class TimerWheelTest {
+    private static final long TOP_LEVEL_SPAN = 1L << 24; // Four levels of 64 slots.
+    private final TimerWheel wheel = new TimerWheel();
+    private final List<String> runs = new ArrayList<>();
+
+    /**
+     * Tasks due at the same time run in the order they were scheduled, also when the earlier task
+     * waited in a level above and was moved down next to the later one.
+     */
+    @Test
+    public void tasksDueAtTheSameTimeRunInScheduleOrder() {
+        wheel.schedule(record("a"), 5);
+        wheel.schedule(record("b"), 5);
+        wheel.schedule(record("c"), 5);
+        wheel.schedule(record("far"), 200); // In the second level until the clock reaches 192.
+        wheel.advance(150);
+        wheel.schedule(record("near"), 50); // Due at 200 too, scheduled into the first level at 192.
+        wheel.advance(45);
+        wheel.schedule(record("nearest"), 5);
+        wheel.advance(100);
+
+        assertEquals(List.of("a@5", "b@5", "c@5", "far@200", "near@200", "nearest@200"), runs);
+    }
+
+    /**
+     * Tasks due right before and right after the end of a turn of the first and the second level
+     * run exactly when they are due.
+     */
+    @Test
+    public void tasksAtLevelBoundariesRunWhenDue() {
+        for (final long delay : new long[] {4096, 63, 4095, 64, 65, 1, 0}) {
+            wheel.schedule(record(Long.toString(delay)), delay);
+        }
+        wheel.advance(10_000);
+
+        assertEquals(List.of("0@0", "1@1", "63@63", "64@64", "65@65", "4095@4095", "4096@4096"), runs);
+    }
+
+    /**
+     * The boundaries are crossed the same way when the clock isn't at the start of a turn.
+     */
+    @Test
+    public void tasksAtLevelBoundariesRunWhenDueFromAnyTime() {
+        wheel.advance(4000);
+        wheel.schedule(record("a"), 95); // Due at 4095, in the current turn of the second level.
+        wheel.schedule(record("b"), 96); // Due at 4096, in the next turn of the third level.
+        wheel.advance(95);
+        assertEquals(List.of("a@4095"), runs);
+        wheel.advance(1);
+
+        assertEquals(List.of("a@4095", "b@4096"), runs);
+    }
+
+    /**
+     * Tasks due further away than the top level reaches wait in the overflow slot and still run exactly
+     * when they are due, in the order they are due.
+     */
+    @Test
+    public void tasksBeyondTheTopLevelRunWhenDue() {
+        wheel.schedule(record("later"), 3 * TOP_LEVEL_SPAN + 7);
+        wheel.schedule(record("sooner"), TOP_LEVEL_SPAN + 5);
+        wheel.schedule(record("edge"), TOP_LEVEL_SPAN - 1);
+        wheel.advance(TOP_LEVEL_SPAN + 4);
+        assertEquals(List.of("edge@" + (TOP_LEVEL_SPAN - 1)), runs);
+        wheel.advance(4 * TOP_LEVEL_SPAN);
+
+        assertEquals(List.of(
+            "edge@" + (TOP_LEVEL_SPAN - 1), "sooner@" + (TOP_LEVEL_SPAN + 5), "later@" + (3 * TOP_LEVEL_SPAN + 7)
+        ), runs);
+        assertEquals(5 * TOP_LEVEL_SPAN + 4, wheel.currentTimeMillis());
+    }
+
+    /**
+     * A task cancelled while it waits in a level above, or after it was moved down to the first level,
+     * never runs, and the tasks around it still do.
+     */
+    @Test
+    public void cancelledTasksNeverRun() {
+        final Task beforeCascade = wheel.schedule(record("before"), 100);
+        final Task afterCascade = wheel.schedule(record("after"), 100);
+        wheel.schedule(record("kept"), 100);
+        wheel.advance(10);
+        beforeCascade.cancel();
+        wheel.advance(60); // The clock has passed 64, so the remaining tasks are in the first level.
+        afterCascade.cancel();
+        wheel.advance(100);
+
+        assertEquals(List.of("kept@100"), runs);
+        assertTrue(beforeCascade.isDone());
+        assertTrue(afterCascade.isDone());
+    }
+
+    /**
+     * Cancelling every task lets the clock skip straight to the target.
+     */
+    @Test
+    public void cancellingTheLastTaskEmptiesTheWheel() {
+        final Task task = wheel.schedule(record("far"), 5 * TOP_LEVEL_SPAN);
+        assertFalse(task.isDone());
+        task.cancel();
+        task.cancel(); // Cancelling twice is harmless.
+        wheel.advance(10 * TOP_LEVEL_SPAN);
+
+        assertTrue(runs.isEmpty());
+        assertEquals(10 * TOP_LEVEL_SPAN, wheel.currentTimeMillis());
+    }
+
+    /**
+     * A fixed rate task runs once every period over many periods and turns of the wheel, however the
+     * clock is advanced, and stops for good when it is cancelled.
+     */
+    @Test
+    public void fixedRateTasksRunEveryPeriod() {
+        final List<Long> fast = new ArrayList<>();
+        final List<Long> slow = new ArrayList<>();
+        final Task fastTask = wheel.scheduleAtFixedRate(() -> fast.add(wheel.currentTimeMillis()), 3, 7);
+        wheel.scheduleAtFixedRate(() -> slow.add(wheel.currentTimeMillis()), 0, 1000);
+
+        long advanced = 0;
+        for (int step = 1; advanced < 20_000; step = step * 3 % 101) { // Steps of varying sizes.
+            wheel.advance(step);
+            advanced += step;
+        }
+        for (int i = 0; i < fast.size(); i++) {
+            assertEquals(3 + 7L * i, (long) fast.get(i));
+        }
+        for (int i = 0; i < slow.size(); i++) {
+            assertEquals(1000L * i, (long) slow.get(i));
+        }
+        assertEquals((advanced - 3) / 7 + 1, fast.size());
+        assertEquals(advanced / 1000 + 1, slow.size());
+
+        fastTask.cancel();
+        final int runsBeforeCancel = fast.size();
+        wheel.advance(1000);
+        assertEquals(runsBeforeCancel, fast.size());
+        assertTrue(fastTask.isDone());
+    }
+
+    /**
+     * Helper method that creates a task that records its name and the time it ran.
+     * @param name the name of the task.
+     * @return the task.
+     */
+    private Runnable record(final String name) {
+        return () -> runs.add(name + "@" + wheel.currentTimeMillis());
+    }
+}